@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Compare connection scalability and tail latency of the servlet and the reactive variants.
+#
+# Every request searches for a random name, so it misses the cache and waits for the simulated 3 second task.
+# The servlet stack holds a request thread for each waiting request, while the reactive stack only holds a timer.
+# Throughput and tail latency are measured at several numbers of concurrent connections.
+#
+# Postgres and Redis must be running as configured in application.properties, and wrk must be installed.
+# Raise the open file limit (ulimit -n) above the highest connection count.
+#
+# Usage: benchmark/reactive-benchmark.sh [duration]
+#   SKIP_BUILD=1                  reuse the jars already in target/
+#   CONNECTIONS="100 500 2000"    concurrent connections to try
+#   PORT=8080                     port the application listens on
+
+set -euo pipefail
+
+DURATION=${1:-30s}
+CONNECTIONS=${CONNECTIONS:-"100 500 2000"}
+PORT=${PORT:-8080}
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+NAME=inventory_management_rest_api
+VERSION=0.0.1-SNAPSHOT
+
+cd "$ROOT"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    ./mvnw -B -q package -DskipTests
+    ./mvnw -B -q -Preactive package -DskipTests
+fi
+
+SCRIPT=$(mktemp --suffix=.lua)
+trap 'rm -f "$SCRIPT"' EXIT
+cat >"$SCRIPT" <<'LUA'
+math.randomseed(os.time())
+request = function()
+    return wrk.format("GET", "/api/inventory?name=bench" .. math.random(1, 1000000000))
+end
+LUA
+
+# Start one variant, run wrk at each connection count and print one line per run
+benchmark() {
+    local label=$1
+    shift
+
+    local log
+    log=$(mktemp)
+    "$@" --server.port="$PORT" >"$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health/liveness"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$label exited before answering, log: $log" >&2
+            return 1
+        fi
+        sleep 0.5
+    done
+
+    for connections in $CONNECTIONS; do
+        wrk -t4 -c"$connections" -d"$DURATION" --timeout 30s --latency -s "$SCRIPT" "http://localhost:$PORT" \
+            | awk -v label="$label" -v c="$connections" '
+                /Requests\/sec/ { rps = $2 }
+                $1 == "50%" { p50 = $2 }
+                $1 == "99%" { p99 = $2 }
+                /Socket errors/ { errors = $0; sub(/.*Socket errors: /, "", errors) }
+                /Non-2xx/ { non2xx = $NF }
+                END {
+                    printf "%-9s %6d conns   %9s req/s   p50 %8s   p99 %8s   non-2xx %s   socket errors: %s\n",
+                        label, c, rps, p50, p99, (non2xx ? non2xx : 0), (errors ? errors : "none")
+                }'
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+}
+
+# The servlet limiter would shed the excess load with 503s, turn it off to compare queueing behaviour
+benchmark "servlet" java -jar "target/$NAME-$VERSION.jar" --inventory.limiter.enabled=false
+benchmark "reactive" java -jar "target/$NAME-reactive-$VERSION.jar" --spring.profiles.active=reactive
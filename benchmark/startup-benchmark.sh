@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Compare startup time and time to first request of the plain JVM, the AOT + CDS and the native builds.
+#
+# Postgres and Redis must be running as configured in application.properties.
+# The native variant is skipped when no GraalVM native-image is on the PATH.
+#
+# Usage: benchmark/startup-benchmark.sh [runs]
+#   SKIP_BUILD=1         reuse the builds already in target/
+#   PORT=8080            port the application listens on
+#   FIRST_REQUEST=/...   path of the first request, /actuator/health/liveness by default
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+FIRST_REQUEST=${FIRST_REQUEST:-/actuator/health/liveness}
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+NAME=inventory_management_rest_api
+JAR=$NAME-0.0.1-SNAPSHOT.jar
+
+cd "$ROOT"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    # The fast-startup build also produces the plain jar, AOT classes are only used with -Dspring.aot.enabled=true
+    ./mvnw -B -q -Pfast-startup package -DskipTests
+    if command -v native-image >/dev/null; then
+        ./mvnw -B -q -Pnative native:compile -DskipTests
+    fi
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Start one variant, wait for the first successful request and print "<startup seconds> <first request ms>".
+# Startup is the "process running for" time Spring Boot logs, first request is measured from launch.
+measure() {
+    local log
+    log=$(mktemp)
+    local start
+    start=$(now_ms)
+
+    "$@" --server.port="$PORT" >"$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORT$FIRST_REQUEST"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before answering, log: $log" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    local first_request=$(( $(now_ms) - start ))
+
+    local startup
+    startup=$(grep -oE 'process running for [0-9.]+' "$log" | grep -oE '[0-9.]+$' || echo "?")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+
+    echo "$startup $first_request"
+}
+
+run_variant() {
+    local label=$1
+    shift
+
+    local results=""
+    for ((i = 1; i <= RUNS; i++)); do
+        results+="$(measure "$@")"$'\n'
+    done
+
+    echo -n "$results" | awk -v label="$label" '
+        { startup += $1; first += $2; n++ }
+        END { printf "%-8s startup %6.3f s   first request %6d ms   (%d runs)\n", label, startup / n, first / n, n }'
+}
+
+run_variant "jvm" java -jar "target/$JAR"
+
+# CDS needs the same class path as the training run, so run from the extracted directory
+run_variant "cds" bash -c 'cd target/cds && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar '"$JAR"' "$@"' cds
+
+if [[ -x "target/$NAME" ]]; then
+    run_variant "native" "target/$NAME"
+else
+    echo "native   skipped, build it with: ./mvnw -Pnative native:compile"
+fi
@@ -1,9 +1,14 @@
 package example.inventory_management_rest_api;
 
+import example.inventory_management_rest_api.config.InventoryRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(InventoryRuntimeHints.class)
 public class InventoryManagementRestApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,138 @@
+package example.inventory_management_rest_api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * This Cache sends every operation to Redis through the circuit breaker. When Redis fails or the breaker
+ * is open, it falls back to a bounded local cache instead of failing the request.
+ * Any exception from Redis counts as a failure, including serialization errors, so a failed probe
+ * always reopens the breaker.
+ * <p>
+ * Evictions that happen while Redis is unavailable only reach the local cache, so Redis may serve the
+ * old value until its entry TTL runs out.
+ */
+public class FallbackCache implements Cache {
+
+    private final Cache redisCache;
+    private final LocalFallbackCache localCache;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final Counter redisErrors;
+    private final Counter fallbackRequests;
+
+    FallbackCache(Cache redisCache, LocalFallbackCache localCache, RedisCircuitBreaker circuitBreaker,
+                  Counter redisErrors, Counter fallbackRequests) {
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.circuitBreaker = circuitBreaker;
+        this.redisErrors = redisErrors;
+        this.fallbackRequests = fallbackRequests;
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                ValueWrapper value = redisCache.get(key);
+                circuitBreaker.recordSuccess();
+                return value;
+            } catch (RuntimeException ex) {
+                onRedisFailure(ex);
+            }
+        }
+        fallbackRequests.increment();
+        return localCache.get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (type != null && value.get() != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                redisCache.put(key, value);
+                circuitBreaker.recordSuccess();
+                return;
+            } catch (RuntimeException ex) {
+                onRedisFailure(ex);
+            }
+        }
+        localCache.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        localCache.evict(key);
+        if (circuitBreaker.allowRequest()) {
+            try {
+                redisCache.evict(key);
+                circuitBreaker.recordSuccess();
+            } catch (RuntimeException ex) {
+                onRedisFailure(ex);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        localCache.clear();
+        if (circuitBreaker.allowRequest()) {
+            try {
+                redisCache.clear();
+                circuitBreaker.recordSuccess();
+            } catch (RuntimeException ex) {
+                onRedisFailure(ex);
+            }
+        }
+    }
+
+    void clearLocal() {
+        localCache.clear();
+    }
+
+    private void onRedisFailure(RuntimeException ex) {
+        redisErrors.increment();
+        circuitBreaker.recordFailure(ex);
+    }
+}
@@ -0,0 +1,57 @@
+package example.inventory_management_rest_api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This CacheManager wraps the Redis cache manager so that every cache falls back to a local cache
+ * while Redis is unhealthy. The local caches are cleared when Redis recovers, since Redis is the
+ * shared copy again from then on.
+ */
+public class FallbackCacheManager implements CacheManager {
+
+    private final CacheManager redisCacheManager;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final int localMaxEntries;
+    private final long localTtlNanos;
+    private final ConcurrentMap<String, FallbackCache> caches = new ConcurrentHashMap<>();
+
+    public FallbackCacheManager(CacheManager redisCacheManager, RedisCircuitBreaker circuitBreaker,
+                                MeterRegistry meterRegistry, int localMaxEntries, Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.localMaxEntries = localMaxEntries;
+        this.localTtlNanos = localTtl.toNanos();
+
+        circuitBreaker.onClose(() -> caches.values().forEach(FallbackCache::clearLocal));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            if (redisCache == null) {
+                return null;
+            }
+            return new FallbackCache(redisCache,
+                    new LocalFallbackCache(localMaxEntries, localTtlNanos),
+                    circuitBreaker,
+                    Counter.builder("inventory.cache.redis.errors").tag("cache", cacheName).register(meterRegistry),
+                    Counter.builder("inventory.cache.fallback.requests").tag("cache", cacheName).register(meterRegistry));
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+}
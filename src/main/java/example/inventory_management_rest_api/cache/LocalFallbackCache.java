@@ -0,0 +1,62 @@
+package example.inventory_management_rest_api.cache;
+
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is a small in-process cache used while Redis is unavailable.
+ * It holds at most {@code maxEntries} entries, evicting the least recently used, and each entry
+ * expires after {@code ttlNanos} so values served during an outage do not get too stale.
+ */
+class LocalFallbackCache {
+
+    private final long ttlNanos;
+    private final Map<Object, Entry> entries;
+
+    LocalFallbackCache(int maxEntries, long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized ValueWrapper get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAt > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return new SimpleValueWrapper(entry.value);
+    }
+
+    synchronized void put(Object key, Object value) {
+        entries.put(key, new Entry(value, System.nanoTime()));
+    }
+
+    synchronized void evict(Object key) {
+        entries.remove(key);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long storedAt;
+
+        private Entry(Object value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
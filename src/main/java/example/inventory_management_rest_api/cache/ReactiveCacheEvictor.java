@@ -0,0 +1,78 @@
+package example.inventory_management_rest_api.cache;
+
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reactive variant caches its reads in the same Redis under keys prefixed with "reactive:", in its own
+ * format. This class evicts those entries on every change made by this node, so reactive nodes serving the
+ * same database do not keep answering with data the servlet nodes have changed. The reactive variant evicts
+ * the servlet caches in turn. Only enable it when reactive nodes share the Redis, as each change event (one per
+ * write, or one per group commit) costs a few SCANs.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "inventory.reactive-cache-eviction.enabled", havingValue = "true")
+public class ReactiveCacheEvictor {
+    private static final Log logger = LogFactory.getLog(ReactiveCacheEvictor.class);
+
+    public static final String KEY_PREFIX = "reactive:";
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    RedisCircuitBreaker circuitBreaker;
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        try {
+            switch (event.getType()) {
+                case SAVED, DELETED -> redisTemplate.delete(
+                        event.getIds().stream().map(id -> KEY_PREFIX + "inventoryItem::" + id).toList());
+                case CLEARED -> deleteMatching(KEY_PREFIX + "inventoryItem::*");
+            }
+            deleteMatching(KEY_PREFIX + "inventory::*");
+            deleteMatching(KEY_PREFIX + "inventoryOnSale::*");
+            circuitBreaker.recordSuccess();
+        } catch (RuntimeException e) {
+            logger.warn("Could not evict the reactive cache entries, they expire with their TTL", e);
+            circuitBreaker.recordFailure(e);
+        }
+    }
+
+    private void deleteMatching(String pattern) {
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(
+                ScanOptions.scanOptions().match(pattern).count(DELETE_BATCH_SIZE).build())) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == DELETE_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package example.inventory_management_rest_api.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class tracks the health of Redis and stops sending it requests while it is failing.
+ * <p>
+ * CLOSED: requests go to Redis; after {@code failureThreshold} consecutive failures the breaker opens.
+ * OPEN: requests bypass Redis until {@code openDuration} has passed.
+ * HALF_OPEN: a single probe request goes to Redis; success closes the breaker, failure opens it again.
+ * If the probe reports neither within {@code openDuration}, another caller is allowed to probe.
+ */
+public class RedisCircuitBreaker {
+    private static final Log logger = LogFactory.getLog(RedisCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final CopyOnWriteArrayList<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private volatile long openedAt;
+    private volatile long probeStartedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return true if the caller may send a request to Redis now
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.HALF_OPEN && System.nanoTime() - probeStartedAt >= openDurationNanos) {
+            // The probe never reported back, so do not wait for it forever
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            current = State.OPEN;
+        }
+        // Let exactly one caller probe Redis once the open period is over
+        if (current == State.OPEN
+                && System.nanoTime() - openedAt >= openDurationNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            probeStartedAt = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        if (previous != State.CLOSED) {
+            logger.info("Redis is healthy again, circuit breaker closed");
+            closeListeners.forEach(Runnable::run);
+        }
+    }
+
+    public void recordFailure(Exception ex) {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                logger.warn("Redis is failing, circuit breaker opened: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Register a callback that runs every time the breaker closes after being open.
+     */
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+}
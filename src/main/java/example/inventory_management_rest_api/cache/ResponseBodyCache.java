@@ -0,0 +1,172 @@
+package example.inventory_management_rest_api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This class caches list responses already serialized in each supported format (JSON, Smile and CBOR).
+ * A cache hit writes the stored bytes as they are, without turning them into Inventory objects and back.
+ * Only the fixed lists are cached, so an inventory change evicts just their keys, one per format.
+ * Name searches are serialized the same way but not cached.
+ */
+@Component
+public class ResponseBodyCache {
+
+    public static final String CACHE_NAME = "inventoryResponse";
+
+    public static final String ALL = "all";
+
+    public static final String ON_SALE = "onsale";
+
+    // Keys of the cached lists in each format, "subtype:list"
+    public static final List<String> LIST_KEYS = List.of(
+            "json:" + ALL, "json:" + ON_SALE,
+            "x-jackson-smile:" + ALL, "x-jackson-smile:" + ON_SALE,
+            "cbor:" + ALL, "cbor:" + ON_SALE);
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Autowired
+    CacheManager cacheManager;
+
+    // The JSON mapper Spring Boot configured for the controllers
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // Same mappers as the Smile and CBOR message converters Spring MVC registers
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(APPLICATION_SMILE, Jackson2ObjectMapperBuilder.smile().build());
+        mappers.put(MediaType.APPLICATION_CBOR, Jackson2ObjectMapperBuilder.cbor().build());
+    }
+
+    /**
+     * Pick the response format for an Accept header.
+     *
+     * @param accept value of the Accept header, may be null
+     * @return the preferred supported format, or null if none is acceptable
+     */
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        accepted.sort((a, b) -> Double.compare(b.getQualityValue(), a.getQualityValue()));
+
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType supported : mappers.keySet()) {
+                if (type.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get a serialized list response, loading and serializing the items on a cache miss.
+     *
+     * @param key    cache key of the list, {@link #ALL} or {@link #ON_SALE}
+     * @param accept value of the Accept header
+     * @param loader loads the items on a cache miss
+     * @return the serialized items; no content if the list is empty, not acceptable if no format matches
+     */
+    public ResponseEntity<byte[]> getOrLoad(String key, String accept, Supplier<List<Inventory>> loader) {
+        MediaType type = negotiate(accept);
+        if (type == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_ACCEPTABLE);
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String formatKey = type.getSubtype() + ":" + key;
+
+        byte[] body = cache != null ? cache.get(formatKey, byte[].class) : null;
+        if (body == null) {
+            body = serialize(loader.get(), type);
+            if (cache != null) {
+                cache.put(formatKey, body);
+            }
+        }
+        return toResponse(body, type);
+    }
+
+    /**
+     * Get a serialized list response without caching it.
+     *
+     * @param accept value of the Accept header
+     * @param loader loads the items
+     * @return the serialized items; no content if the list is empty, not acceptable if no format matches
+     */
+    public ResponseEntity<byte[]> load(String accept, Supplier<List<Inventory>> loader) {
+        MediaType type = negotiate(accept);
+        if (type == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_ACCEPTABLE);
+        }
+        return toResponse(serialize(loader.get(), type), type);
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        LIST_KEYS.forEach(cache::evict);
+    }
+
+    private static ResponseEntity<byte[]> toResponse(byte[] body, MediaType type) {
+        // An empty body stands for an empty list
+        if (body.length == 0) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private byte[] serialize(List<Inventory> inventories, MediaType type) {
+        if (inventories.isEmpty()) {
+            return new byte[0];
+        }
+
+        try {
+            return mappers.get(type).writeValueAsBytes(inventories);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize inventory items as " + type, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package example.inventory_management_rest_api.catalog;
+
+import example.inventory_management_rest_api.model.Inventory;
+
+import java.util.Objects;
+
+/**
+ * This class holds the optional conditions of an inventory filter query. A null condition matches every item.
+ */
+public class CatalogFilter {
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Integer quantityBelow;
+    private final String category;
+    private final Boolean onSale;
+
+    /**
+     * @param minPrice      lowest unit price, inclusive
+     * @param maxPrice      highest unit price, inclusive
+     * @param quantityBelow only items with a quantity lower than this
+     * @param category      exact category name
+     * @param onSale        sale status
+     */
+    public CatalogFilter(Double minPrice, Double maxPrice, Integer quantityBelow, String category, Boolean onSale) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.quantityBelow = quantityBelow;
+        this.category = category;
+        this.onSale = onSale;
+    }
+
+    /**
+     * Check a single item, used when the columnar catalog is not available.
+     */
+    public boolean matches(Inventory inventory) {
+        return matchesPrice(inventory.getUnitPrice() == null ? Double.NaN : inventory.getUnitPrice())
+                && matchesQuantity(inventory.getQuantity())
+                && (category == null || Objects.equals(category, inventory.getCategory()))
+                && (onSale == null || onSale == inventory.isOnSale());
+    }
+
+    boolean matchesPrice(double unitPrice) {
+        // NaN stands for a missing price and never matches a price condition
+        return (minPrice == null || unitPrice >= minPrice) && (maxPrice == null || unitPrice <= maxPrice);
+    }
+
+    boolean matchesQuantity(int quantity) {
+        return quantityBelow == null || quantity < quantityBelow;
+    }
+
+    boolean hasPriceOrQuantity() {
+        return minPrice != null || maxPrice != null || quantityBelow != null;
+    }
+
+    String getCategory() {
+        return category;
+    }
+
+    Boolean getOnSale() {
+        return onSale;
+    }
+}
@@ -0,0 +1,52 @@
+package example.inventory_management_rest_api.catalog;
+
+import example.inventory_management_rest_api.model.Inventory;
+
+import java.util.List;
+
+/**
+ * This class holds stock totals over the whole inventory.
+ */
+public class CatalogSummary {
+    private final long itemCount;
+    private final long onSaleCount;
+    private final long totalQuantity;
+    private final double stockValue;
+
+    public CatalogSummary(long itemCount, long onSaleCount, long totalQuantity, double stockValue) {
+        this.itemCount = itemCount;
+        this.onSaleCount = onSaleCount;
+        this.totalQuantity = totalQuantity;
+        this.stockValue = stockValue;
+    }
+
+    /**
+     * Compute the totals from a list of items, used when the columnar catalog is not available.
+     */
+    public static CatalogSummary of(List<Inventory> inventories) {
+        return new CatalogSummary(
+                inventories.size(),
+                inventories.stream().filter(Inventory::isOnSale).count(),
+                inventories.stream().mapToLong(Inventory::getQuantity).sum(),
+                inventories.stream()
+                        .filter(inventory -> inventory.getUnitPrice() != null)
+                        .mapToDouble(inventory -> inventory.getUnitPrice() * inventory.getQuantity())
+                        .sum());
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public long getOnSaleCount() {
+        return onSaleCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public double getStockValue() {
+        return stockValue;
+    }
+}
@@ -0,0 +1,313 @@
+package example.inventory_management_rest_api.catalog;
+
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * This class keeps an in-memory, column-oriented copy of the inventory table for filter queries.
+ * <p>
+ * Each filtered field is stored in a primitive array indexed by row number: unit price, quantity and a
+ * dictionary-encoded category. Bitmaps index live rows, on-sale rows and the rows of each category, so a
+ * query combines bitmaps and scans primitive columns without boxing or creating objects per row.
+ * Matching rows are returned as the Inventory objects held by the catalog, which must not be modified.
+ * <p>
+ * The catalog is loaded from the database at startup and then kept up to date with the
+ * InventoryChangedEvents published by InventoryService. Those only cover the writes of this node, so the
+ * catalog is also reloaded every {@code reload-interval} to pick up the writes of other nodes.
+ */
+@Component
+public class ColumnarCatalog {
+    private static final Log logger = LogFactory.getLog(ColumnarCatalog.class);
+
+    @Autowired
+    InventoryRepository repository;
+
+    @Value("${inventory.catalog.enabled:false}")
+    private boolean enabled;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_CATEGORY = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private int rowCount;
+    private double[] unitPrices = new double[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private Inventory[] rows = new Inventory[INITIAL_CAPACITY];
+    private final BitSet live = new BitSet();
+    private final BitSet onSale = new BitSet();
+    private final List<BitSet> categoryRows = new ArrayList<>();
+    private final Map<String, Integer> categoryDictionary = new HashMap<>();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final List<InventoryChangedEvent> pendingEvents = new ArrayList<>();
+    private volatile boolean ready;
+    private boolean reloading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            load(repository.findAll());
+            logger.info("Columnar catalog loaded " + summary().getItemCount() + " items");
+        }
+    }
+
+    /**
+     * Read the whole table again. Changes arriving meanwhile are applied as usual, and once more on top of
+     * the new content in case the read missed them.
+     */
+    @Scheduled(fixedDelayString = "${inventory.catalog.reload-interval:PT1M}",
+            initialDelayString = "${inventory.catalog.reload-interval:PT1M}")
+    public void reload() {
+        if (!enabled || !ready) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            reloading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Inventory> inventories;
+        try {
+            inventories = repository.findAll();
+        } catch (RuntimeException e) {
+            logger.warn("Columnar catalog reload failed, keeping the current content", e);
+            lock.writeLock().lock();
+            try {
+                reloading = false;
+                pendingEvents.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        load(inventories);
+    }
+
+    /**
+     * Replace the catalog content, then apply the changes that arrived while the items were being read.
+     */
+    public void load(List<Inventory> inventories) {
+        lock.writeLock().lock();
+        try {
+            rebuild(inventories);
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            reloading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            }
+            if (!ready || reloading) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true once the catalog is loaded and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Inventory> findOnSale() {
+        lock.readLock().lock();
+        try {
+            return collect(onSale);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Inventory> filter(CatalogFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+            if (filter.getCategory() != null) {
+                Integer code = categoryDictionary.get(filter.getCategory());
+                if (code == null) {
+                    return new ArrayList<>();
+                }
+                candidates.and(categoryRows.get(code));
+            }
+            if (filter.getOnSale() != null) {
+                if (filter.getOnSale()) {
+                    candidates.and(onSale);
+                } else {
+                    candidates.andNot(onSale);
+                }
+            }
+
+            // Range conditions are checked against the primitive columns for the remaining rows only
+            if (filter.hasPriceOrQuantity()) {
+                for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                    if (!filter.matchesPrice(unitPrices[row]) || !filter.matchesQuantity(quantities[row])) {
+                        candidates.clear(row);
+                    }
+                }
+            }
+
+            return collect(candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compute stock totals with parallel scans over the primitive columns.
+     */
+    public CatalogSummary summary() {
+        lock.readLock().lock();
+        try {
+            long totalQuantity = IntStream.range(0, rowCount).parallel()
+                    .filter(live::get)
+                    .mapToLong(row -> quantities[row])
+                    .sum();
+            double stockValue = IntStream.range(0, rowCount).parallel()
+                    .filter(row -> live.get(row) && !Double.isNaN(unitPrices[row]))
+                    .mapToDouble(row -> unitPrices[row] * quantities[row])
+                    .sum();
+
+            return new CatalogSummary(live.cardinality(), onSale.cardinality(), totalQuantity, stockValue);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Inventory> collect(BitSet selected) {
+        List<Inventory> result = new ArrayList<>(selected.cardinality());
+        for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+            result.add(rows[row]);
+        }
+        return result;
+    }
+
+    private void apply(InventoryChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getInventories().forEach(this::upsert);
+            case DELETED -> event.getIds().forEach(this::remove);
+            case CLEARED -> rebuild(List.of());
+        }
+    }
+
+    private void upsert(Inventory inventory) {
+        Integer existing = rowById.get(inventory.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+            clearIndexes(row);
+        } else {
+            ensureCapacity(rowCount + 1);
+            row = rowCount++;
+            rowById.put(inventory.getId(), row);
+        }
+
+        unitPrices[row] = inventory.getUnitPrice() == null ? Double.NaN : inventory.getUnitPrice();
+        quantities[row] = inventory.getQuantity();
+        categoryCodes[row] = encodeCategory(inventory.getCategory());
+        rows[row] = inventory;
+
+        live.set(row);
+        onSale.set(row, inventory.isOnSale());
+        if (categoryCodes[row] != NO_CATEGORY) {
+            categoryRows.get(categoryCodes[row]).set(row);
+        }
+    }
+
+    private void remove(long id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return;
+        }
+        clearIndexes(row);
+        live.clear(row);
+        rows[row] = null;
+
+        // Reclaim the space of deleted rows once they make up most of the arrays
+        if (rowCount > INITIAL_CAPACITY && live.cardinality() < rowCount / 2) {
+            List<Inventory> remaining = collect(live);
+            rebuild(remaining);
+        }
+    }
+
+    private void clearIndexes(int row) {
+        onSale.clear(row);
+        if (categoryCodes[row] != NO_CATEGORY) {
+            categoryRows.get(categoryCodes[row]).clear(row);
+        }
+    }
+
+    private void rebuild(List<Inventory> inventories) {
+        rowCount = 0;
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, inventories.size())) << 1);
+        unitPrices = new double[capacity];
+        quantities = new int[capacity];
+        categoryCodes = new int[capacity];
+        rows = new Inventory[capacity];
+        live.clear();
+        onSale.clear();
+        categoryRows.forEach(BitSet::clear);
+        rowById.clear();
+
+        inventories.forEach(this::upsert);
+    }
+
+    private int encodeCategory(String category) {
+        if (category == null) {
+            return NO_CATEGORY;
+        }
+        return categoryDictionary.computeIfAbsent(category, name -> {
+            categoryRows.add(new BitSet());
+            return categoryRows.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= rows.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, rows.length * 2);
+        unitPrices = Arrays.copyOf(unitPrices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, newCapacity);
+        rows = Arrays.copyOf(rows, newCapacity);
+    }
+}
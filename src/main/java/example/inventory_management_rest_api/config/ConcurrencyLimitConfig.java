@@ -0,0 +1,51 @@
+package example.inventory_management_rest_api.config;
+
+import example.inventory_management_rest_api.limiter.AdaptiveConcurrencyLimiter;
+import example.inventory_management_rest_api.limiter.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Register the adaptive concurrency limits for the inventory API when inventory.limiter.enabled is true.
+ * Reads and writes are limited separately, so a burst of slow writes cannot starve cached reads.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "inventory.limiter.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    @Value("${inventory.limiter.read.initial-limit:50}")
+    private int readInitialLimit;
+
+    @Value("${inventory.limiter.read.max-limit:200}")
+    private int readMaxLimit;
+
+    @Value("${inventory.limiter.write.initial-limit:20}")
+    private int writeInitialLimit;
+
+    @Value("${inventory.limiter.write.max-limit:100}")
+    private int writeMaxLimit;
+
+    @Value("${inventory.limiter.min-limit:4}")
+    private int minLimit;
+
+    @Value("${inventory.limiter.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        AdaptiveConcurrencyLimiter readLimiter =
+                new AdaptiveConcurrencyLimiter("read", readInitialLimit, minLimit, readMaxLimit);
+        AdaptiveConcurrencyLimiter writeLimiter =
+                new AdaptiveConcurrencyLimiter("write", writeInitialLimit, minLimit, writeMaxLimit);
+
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(readLimiter, writeLimiter,
+                        Math.max(1, retryAfter.toSeconds())))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,43 @@
+package example.inventory_management_rest_api.config;
+
+import example.inventory_management_rest_api.catalog.CatalogSummary;
+import example.inventory_management_rest_api.exception.ErrorMessage;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import example.inventory_management_rest_api.shard.ShardAwareSequenceGenerator;
+import example.inventory_management_rest_api.shard.ShardedSequence;
+import example.inventory_management_rest_api.stock.LowStockAlert;
+import example.inventory_management_rest_api.stock.LowStockItem;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.ArrayList;
+
+/**
+ * Reflection, serialization and proxy hints for a GraalVM native image.
+ * These are the types Spring AOT cannot find by itself: payloads serialized by our own ObjectMapper
+ * or by the Redis Jackson serializer, and classes Hibernate or our code create reflectively.
+ */
+public class InventoryRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson payloads, including the cached responses and the values stored in Redis
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Inventory.class, ErrorMessage.class, CatalogSummary.class, LowStockItem.class, LowStockAlert.class);
+        hints.serialization().registerType(Inventory.class);
+
+        // The Redis serializer stores the class name of cached lists and creates them by reflection
+        hints.reflection().registerType(ArrayList.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Id generator created by Hibernate from the @ShardedSequence annotation
+        hints.reflection().registerType(ShardedSequence.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(ShardAwareSequenceGenerator.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // JDK proxy of the sharded repository
+        hints.proxies().registerJdkProxy(InventoryRepository.class);
+    }
+}
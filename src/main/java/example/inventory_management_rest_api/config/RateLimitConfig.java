@@ -0,0 +1,44 @@
+package example.inventory_management_rest_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import example.inventory_management_rest_api.ratelimit.RateLimitFilter;
+import example.inventory_management_rest_api.ratelimit.RateLimitProperties;
+import example.inventory_management_rest_api.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Rate limit each client of the inventory API when inventory.rate-limit.enabled is true.
+ * The filter runs before the concurrency limiter, so rejected requests never take a slot.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "inventory.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(StringRedisTemplate redisTemplate,
+                                                         RedisCircuitBreaker redisCircuitBreaker,
+                                                         RateLimitProperties properties) {
+        return new TokenBucketRateLimiter(redisTemplate, redisCircuitBreaker, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(TokenBucketRateLimiter rateLimiter,
+                                                                   RateLimitProperties properties,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
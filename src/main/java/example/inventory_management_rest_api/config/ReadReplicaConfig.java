@@ -0,0 +1,71 @@
+package example.inventory_management_rest_api.config;
+
+import example.inventory_management_rest_api.datasource.ReadYourWritesFilter;
+import example.inventory_management_rest_api.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Send read-only service calls to the replica databases when
+ * inventory.datasource.replica.enabled is true. The primary is still configured by spring.datasource.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    @Value("${inventory.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${inventory.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${inventory.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${inventory.datasource.replica.max-lag:1s}")
+    private Duration maxReplicaLag;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties) {
+        // Defer the routing decision until the first statement, when the transaction is read-only or not
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource(properties));
+    }
+
+    // A bean of its own so that the context closes the pools on shutdown; the proxy above does not close its target
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties) {
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+
+        List<DataSource> replicas = replicaUrls.stream()
+                .map(url -> (DataSource) DataSourceBuilder.create()
+                        .url(url)
+                        .username(replicaUsername)
+                        .password(replicaPassword)
+                        .build())
+                .toList();
+
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    // Keeps the reads of a client that wrote recently on the primary, on whichever node serves them
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(maxReplicaLag));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
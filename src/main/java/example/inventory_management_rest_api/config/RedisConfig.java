@@ -2,31 +2,88 @@ package example.inventory_management_rest_api.config;
 
 import java.time.Duration;
 
+import example.inventory_management_rest_api.cache.FallbackCacheManager;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import example.inventory_management_rest_api.cache.ResponseBodyCache;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 
 @Configuration
-public class RedisConfig {
+public class RedisConfig implements CachingConfigurer {
     @Value("${spring.data.redis.host}")
     private String redisHost;
 
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    @Value("${spring.data.redis.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${spring.data.redis.timeout:500ms}")
+    private Duration commandTimeout;
+
+    @Value("${inventory.cache.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${inventory.cache.breaker.open-duration:10s}")
+    private Duration breakerOpenDuration;
+
+    @Value("${inventory.cache.local.max-entries:1000}")
+    private int localMaxEntries;
+
+    @Value("${inventory.cache.local.ttl:30s}")
+    private Duration localTtl;
+
+    @Value("${inventory.cache.clear-batch-size:1000}")
+    private int clearBatchSize;
+
     // Configure Spring Boot Redis Lettuce
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(redisHost, redisPort);
 
-        return new LettuceConnectionFactory(configuration);
+        // Bound every connect and command, and fail fast instead of queueing commands while disconnected
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build())
+                .build();
+
+        return new LettuceConnectionFactory(configuration, clientConfiguration);
+    }
+
+    // Stop calling Redis while it keeps failing, and expose the breaker state as a metric
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(MeterRegistry meterRegistry) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(breakerFailureThreshold, breakerOpenDuration);
+
+        Gauge.builder("inventory.cache.redis.breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Redis circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+
+        return circuitBreaker;
     }
 
     // Default Redis cache manager
@@ -35,16 +92,35 @@ public class RedisConfig {
     //    return RedisCacheManager.create(connectionFactory);
     //  }
 
-    // Add RedisCacheManager to use Redis as a backing implementation and customize Redis Cache Configuration
+    // Add RedisCacheManager to use Redis as a backing implementation and customize Redis Cache Configuration,
+    // wrapped so that each cache falls back to a local cache while Redis is unhealthy
     @Bean
-    public RedisCacheManager cacheManager() {
+    public CacheManager cacheManager(RedisCircuitBreaker redisCircuitBreaker, MeterRegistry meterRegistry) {
         RedisCacheConfiguration cacheConfig = myDefaultCacheConfig(Duration.ofMinutes(10)).disableCachingNullValues();
 
-        return RedisCacheManager.builder(redisConnectionFactory())
+        // Clear caches with incremental SCAN instead of KEYS, which blocks Redis while it walks the whole keyspace
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+                redisConnectionFactory(), BatchStrategies.scan(clearBatchSize));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(cacheConfig)
                 .withCacheConfiguration("inventory", myDefaultCacheConfig(Duration.ofMinutes(5)))
                 .withCacheConfiguration("inventoryItem", myDefaultCacheConfig(Duration.ofMinutes(1)))
+                // Serialized responses are stored as raw bytes
+                .withCacheConfiguration(ResponseBodyCache.CACHE_NAME, RedisCacheConfiguration
+                        .defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(5))
+                        .serializeValuesWith(SerializationPair.byteArray()))
                 .build();
+        redisCacheManager.initializeCaches();
+
+        return new FallbackCacheManager(redisCacheManager, redisCircuitBreaker, meterRegistry, localMaxEntries, localTtl);
+    }
+
+    // Treat any cache error that gets past the fallback cache as a cache miss instead of failing the request
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler(LogFactory.getLog(RedisConfig.class), false);
     }
 
     private RedisCacheConfiguration myDefaultCacheConfig(Duration duration) {
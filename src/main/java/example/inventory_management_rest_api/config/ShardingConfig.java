@@ -0,0 +1,94 @@
+package example.inventory_management_rest_api.config;
+
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import example.inventory_management_rest_api.shard.ShardAwareSequenceGenerator;
+import example.inventory_management_rest_api.shard.ShardRoutingDataSource;
+import example.inventory_management_rest_api.shard.ShardSchemaInitializer;
+import example.inventory_management_rest_api.shard.ShardedInventoryRepository;
+import example.inventory_management_rest_api.shard.ShardingProperties;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Spread the inventory items over several databases when inventory.sharding.enabled is true.
+ * Sharding replaces spring.datasource.* and cannot be combined with read replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties properties, DataSourceProperties dataSourceProperties) {
+        // Defer the choice of shard until the first statement, after the repository has set it
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource(properties, dataSourceProperties));
+    }
+
+    // A bean of its own so that the context closes the shard pools on shutdown
+    @Bean(autowireCandidate = false)
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                         DataSourceProperties dataSourceProperties) {
+        String username = properties.getUsername() != null
+                ? properties.getUsername() : dataSourceProperties.determineUsername();
+        String password = properties.getPassword() != null
+                ? properties.getPassword() : dataSourceProperties.determinePassword();
+
+        List<DataSource> shards = properties.getUrls().stream()
+                .map(url -> (DataSource) DataSourceBuilder.create()
+                        .url(url)
+                        .username(username)
+                        .password(password)
+                        .build())
+                .toList();
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // Tells the id generator the number of shards, and applies spring.jpa.hibernate.ddl-auto to every shard,
+    // not only to the default one
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer(ShardingProperties properties) {
+        int shardCount = properties.getUrls().size();
+        ShardSchemaInitializer initializer = new ShardSchemaInitializer(shardCount);
+        return hibernateProperties -> {
+            hibernateProperties.put(ShardAwareSequenceGenerator.SHARD_COUNT, shardCount);
+            hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(initializer));
+        };
+    }
+
+    // Runs the per-shard queries of findAll() and the finders in parallel
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardQueryExecutor(ShardingProperties properties) {
+        return Executors.newFixedThreadPool(properties.getUrls().size() * 2, runnable -> {
+            Thread thread = new Thread(runnable, "shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    @Primary
+    public InventoryRepository shardedInventoryRepository(@Qualifier("inventoryRepository") InventoryRepository repository,
+                                                          ShardingProperties properties,
+                                                          PlatformTransactionManager transactionManager,
+                                                          @Qualifier("shardQueryExecutor") ExecutorService executor) {
+        return ShardedInventoryRepository.create(repository, properties, transactionManager, executor);
+    }
+}
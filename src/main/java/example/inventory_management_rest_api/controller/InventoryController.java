@@ -1,14 +1,20 @@
 package example.inventory_management_rest_api.controller;
 
+import example.inventory_management_rest_api.cache.ResponseBodyCache;
+import example.inventory_management_rest_api.catalog.CatalogFilter;
+import example.inventory_management_rest_api.catalog.CatalogSummary;
+import example.inventory_management_rest_api.catalog.ColumnarCatalog;
 import example.inventory_management_rest_api.exception.ResourceNotFoundException;
 import example.inventory_management_rest_api.model.Inventory;
 import example.inventory_management_rest_api.service.InventoryService;
+import example.inventory_management_rest_api.warmup.CacheWarmer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
@@ -16,6 +22,7 @@ import java.util.List;
  * This is a RestController which has request mapping methods for RESTful requests
  */
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @CrossOrigin(origins = "http://localhost:8081")
 @RestController
 @RequestMapping("/api")
@@ -24,30 +31,31 @@ public class InventoryController {
     @Autowired
     InventoryService service;
 
+    @Autowired
+    CacheWarmer cacheWarmer;
+
+    @Autowired
+    ColumnarCatalog catalog;
+
+    @Autowired
+    ResponseBodyCache responseCache;
+
     /**
-     * Get all items.
+     * Get all items, as JSON, Smile or CBOR depending on the Accept header.
      *
-     * @param name text to search in item names
+     * @param name   text to search in item names
+     * @param accept value of the Accept header
      * @return a list of items that have the given text in their names; return server error if fails
      */
     @GetMapping("/inventory")
-    public ResponseEntity<List<Inventory>> getAllInventory(@RequestParam(required = false) String name) {
-
-        List<Inventory> inventories = new ArrayList<Inventory>();
+    public ResponseEntity<byte[]> getAllInventory(@RequestParam(required = false) String name,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        // If user did not provide a name, add all items to the list
+        // If user did not provide a name, return all items, else the ones containing the given text
         if (name == null) {
-            service.findAll().forEach(inventories::add);
-        } else { // else add the ones containing the given text
-            service.findByNameContaining(name).forEach(inventories::add);
+            return responseCache.getOrLoad(ResponseBodyCache.ALL, accept, service::findAll);
         }
-
-        // If the list is empty, return no content
-        if (inventories.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        }
-
-        return new ResponseEntity<>(inventories, HttpStatus.OK);
+        return responseCache.load(accept, () -> service.findByNameContaining(name));
     }
 
     /**
@@ -58,6 +66,7 @@ public class InventoryController {
      */
     @GetMapping("/inventory/{id}")
     public ResponseEntity<Inventory> getInventoryById(@PathVariable("id") long id) {
+        cacheWarmer.recordAccess(id);
         Inventory inventory = service.findById(id).orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id " + id));
 
         return new ResponseEntity<>(inventory, HttpStatus.OK);
@@ -72,13 +81,16 @@ public class InventoryController {
     @PostMapping("/inventory")
     public ResponseEntity<Inventory> createInventory(@RequestBody Inventory inventory) {
 
-        Inventory _inventory = service.save(new Inventory(
+        Inventory newInventory = new Inventory(
                 inventory.getName(),
                 inventory.getDescription(),
                 inventory.getUnitPrice(),
                 inventory.getQuantity(),
                 inventory.getCategory(),
-                inventory.isOnSale()));
+                inventory.isOnSale());
+        newInventory.setReorderPoint(inventory.getReorderPoint());
+
+        Inventory _inventory = service.save(newInventory);
 
         return new ResponseEntity<>(_inventory, HttpStatus.CREATED);
     }
@@ -100,6 +112,7 @@ public class InventoryController {
         _inventory.setQuantity(inventory.getQuantity());
         _inventory.setCategory(inventory.getCategory());
         _inventory.setOnSale(inventory.isOnSale());
+        _inventory.setReorderPoint(inventory.getReorderPoint());
 
         return new ResponseEntity<>(service.update(_inventory), HttpStatus.OK);
     }
@@ -129,13 +142,39 @@ public class InventoryController {
     }
 
     /**
-     * Get all inventory items that are on sale.
+     * Get all inventory items that are on sale, as JSON, Smile or CBOR depending on the Accept header.
      *
+     * @param accept value of the Accept header
      * @return a list of items onsale or error message if fails
      */
     @GetMapping("/inventory/onsale")
-    public ResponseEntity<List<Inventory>> getInventoryOnSale() {
-        List<Inventory> inventories = service.findByOnSale(true);
+    public ResponseEntity<byte[]> getInventoryOnSale(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return responseCache.getOrLoad(ResponseBodyCache.ON_SALE, accept,
+                () -> catalog.isReady() ? catalog.findOnSale() : service.findByOnSale(true));
+    }
+
+    /**
+     * Filter inventory items by price range, quantity, category and sale status.
+     * Every condition is optional.
+     *
+     * @param minPrice      lowest unit price, inclusive
+     * @param maxPrice      highest unit price, inclusive
+     * @param quantityBelow only items with a quantity lower than this
+     * @param category      category name
+     * @param onSale        sale status
+     * @return a list of matching items or no content if nothing matches
+     */
+    @GetMapping("/inventory/filter")
+    public ResponseEntity<List<Inventory>> filterInventory(@RequestParam(required = false) Double minPrice,
+                                                           @RequestParam(required = false) Double maxPrice,
+                                                           @RequestParam(required = false) Integer quantityBelow,
+                                                           @RequestParam(required = false) String category,
+                                                           @RequestParam(required = false) Boolean onSale) {
+        CatalogFilter filter = new CatalogFilter(minPrice, maxPrice, quantityBelow, category, onSale);
+
+        List<Inventory> inventories = catalog.isReady()
+                ? catalog.filter(filter)
+                : service.findAll().stream().filter(filter::matches).toList();
 
         if (inventories.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -143,4 +182,16 @@ public class InventoryController {
         return new ResponseEntity<>(inventories, HttpStatus.OK);
     }
 
+    /**
+     * Get stock totals over all inventory items.
+     *
+     * @return item count, on-sale count, total quantity and total stock value
+     */
+    @GetMapping("/inventory/summary")
+    public ResponseEntity<CatalogSummary> getInventorySummary() {
+        CatalogSummary summary = catalog.isReady() ? catalog.summary() : CatalogSummary.of(service.findAll());
+
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
 }
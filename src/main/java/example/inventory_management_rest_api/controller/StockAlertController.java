@@ -0,0 +1,57 @@
+package example.inventory_management_rest_api.controller;
+
+import example.inventory_management_rest_api.stock.LowStockAlert;
+import example.inventory_management_rest_api.stock.LowStockItem;
+import example.inventory_management_rest_api.stock.LowStockMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+/**
+ * This is a RestController which has request mapping methods for low-stock queries
+ */
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+public class StockAlertController {
+
+    @Autowired
+    LowStockMonitor monitor;
+
+    /**
+     * Get all items whose quantity is below their reorder point.
+     *
+     * @return a list of items, the furthest below their reorder point first; no content if there are none
+     */
+    @GetMapping("/inventory/low-stock")
+    public ResponseEntity<List<LowStockItem>> getLowStockInventory() {
+        List<LowStockItem> items = monitor.findBelowReorderPoint();
+
+        if (items.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(items, HttpStatus.OK);
+    }
+
+    /**
+     * Get the most recent reorder point crossings.
+     *
+     * @return a list of alerts, the newest first; no content if there are none
+     */
+    @GetMapping("/inventory/low-stock/alerts")
+    public ResponseEntity<List<LowStockAlert>> getLowStockAlerts() {
+        List<LowStockAlert> alerts = monitor.findRecentAlerts();
+
+        if (alerts.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(alerts, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,26 @@
+package example.inventory_management_rest_api.datasource;
+
+/**
+ * This class marks the reads of the current thread as needing the primary, because its client wrote recently
+ * and the replicas may not have that change yet. ReadYourWritesFilter sets it for the length of a request,
+ * and ReplicaRoutingDataSource reads it.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPin() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+}
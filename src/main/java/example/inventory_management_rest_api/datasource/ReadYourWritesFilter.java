@@ -0,0 +1,81 @@
+package example.inventory_management_rest_api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * This filter lets each client read its own writes while other clients keep reading from the replicas.
+ * <p>
+ * A write request sets a cookie with the time of the write. Requests from the same client within
+ * {@code maxReplicaLag} of that time, on any node, have their reads pinned to the primary, as do the reads
+ * of the write request itself. The window is fixed rather than measured, so it must be set above the
+ * replicas' worst lag. Clients that do not keep cookies read from the replicas right after their writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "inventory-last-write";
+
+    private final long maxReplicaLagMillis;
+
+    public ReadYourWritesFilter(Duration maxReplicaLag) {
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !isRead(request);
+        if (write) {
+            // Set before the chain runs, while the response is not committed yet
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (maxReplicaLagMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+
+        if (!write && !wroteRecently(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        PrimaryPin.pin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryPin.clear();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Math.abs(now - Long.parseLong(cookie.getValue())) <= maxReplicaLagMillis;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -0,0 +1,76 @@
+package example.inventory_management_rest_api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This DataSource routes read-only transactions to replica DataSources in round-robin order,
+ * and everything else to the primary.
+ * <p>
+ * Read-only transactions of a client that wrote recently stay on the primary (see ReadYourWritesFilter),
+ * so it sees its own change even if the replicas are behind. Other clients are not affected by its writes.
+ * <p>
+ * Must be wrapped in a LazyConnectionDataSourceProxy, so that the target is only chosen
+ * after the transaction's read-only flag has been set.
+ * <p>
+ * Closing it closes the primary and replica pools.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Reads outside a transaction have no read-only hint, keep them on the primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        // Replicas may not have caught up with this client's recent write yet
+        if (replicaKeys.isEmpty() || PrimaryPin.isPinned()) {
+            return PRIMARY;
+        }
+
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void close() {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    logger.warn("Could not close DataSource " + target, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package example.inventory_management_rest_api.event;
+
+import example.inventory_management_rest_api.model.Inventory;
+
+import java.util.List;
+
+/**
+ * This event is published by InventoryService after an inventory write has been committed,
+ * so in-memory views of the inventory can update themselves incrementally.
+ * <p>
+ * A batch of writes committed together is published as one SAVED event carrying all saved items,
+ * so listeners that clear shared caches do it once per batch rather than once per item.
+ */
+public class InventoryChangedEvent {
+
+    public enum Type {
+        SAVED, DELETED, CLEARED
+    }
+
+    private final Type type;
+    private final List<Long> ids;
+    private final List<Inventory> inventories;
+
+    private InventoryChangedEvent(Type type, List<Long> ids, List<Inventory> inventories) {
+        this.type = type;
+        this.ids = ids;
+        this.inventories = inventories;
+    }
+
+    public static InventoryChangedEvent saved(Inventory inventory) {
+        return saved(List.of(inventory));
+    }
+
+    public static InventoryChangedEvent saved(List<Inventory> inventories) {
+        return new InventoryChangedEvent(Type.SAVED,
+                inventories.stream().map(Inventory::getId).toList(), List.copyOf(inventories));
+    }
+
+    public static InventoryChangedEvent deleted(long id) {
+        return new InventoryChangedEvent(Type.DELETED, List.of(id), List.of());
+    }
+
+    public static InventoryChangedEvent cleared() {
+        return new InventoryChangedEvent(Type.CLEARED, List.of(), List.of());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the ids of the saved or deleted items, empty for CLEARED events
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * @return the saved items for SAVED events, empty otherwise
+     */
+    public List<Inventory> getInventories() {
+        return inventories;
+    }
+}
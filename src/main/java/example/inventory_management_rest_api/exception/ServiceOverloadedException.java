@@ -0,0 +1,18 @@
+package example.inventory_management_rest_api.exception;
+
+/**
+ * This class represents custom exception for requests shed because the service is at its concurrency limit.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,120 @@
+package example.inventory_management_rest_api.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class limits the number of in-flight requests and adapts the limit to the measured latency,
+ * in the style of the Gradient algorithm.
+ * <p>
+ * A short-term average latency is compared with a long-term baseline. While the two are close, the
+ * limit grows by a small queue allowance; when the short-term latency rises above the baseline
+ * (the database is slowing down and requests start to queue), the limit shrinks in proportion.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Latency samples averaged into one short-term measurement
+    private static final int SHORT_WINDOW = 10;
+
+    // Number of short-term measurements the long-term baseline is averaged over
+    private static final int LONG_WINDOW = 100;
+
+    // How far the short-term latency may exceed the baseline before the limit starts shrinking
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double longRtt;
+    private long shortRttSum;
+    private int shortRttCount;
+    private int maxInFlightInWindow;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this.name = name;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Try to start a request.
+     *
+     * @return true if the request may proceed and must later call {@link #release(long)}; false if it should be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finish a request started by a successful {@link #tryAcquire()} and record its latency.
+     *
+     * @param rttNanos time the request took in nanoseconds
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        shortRttSum += rttNanos;
+        shortRttCount++;
+        maxInFlightInWindow = Math.max(maxInFlightInWindow, inFlightAtSample);
+        if (shortRttCount < SHORT_WINDOW) {
+            return;
+        }
+
+        double shortRtt = (double) shortRttSum / shortRttCount;
+        int maxInFlight = maxInFlightInWindow;
+        shortRttSum = 0;
+        shortRttCount = 0;
+        maxInFlightInWindow = 0;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+        }
+
+        // After a long slow period the baseline is inflated, let it recover quickly once latency drops
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        // Do not raise the limit while it is not being used
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
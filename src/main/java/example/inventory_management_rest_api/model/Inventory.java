@@ -1,5 +1,6 @@
 package example.inventory_management_rest_api.model;
 
+import example.inventory_management_rest_api.shard.ShardedSequence;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
@@ -15,7 +16,7 @@ public class Inventory implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedSequence
     private long id;
 
     @Column(name = "name")
@@ -36,6 +37,9 @@ public class Inventory implements Serializable {
     @Column(name = "on-sale")
     private boolean onSale;
 
+    @Column(name = "reorder point")
+    private Integer reorderPoint;
+
     public Inventory() {
     }
 
@@ -101,6 +105,14 @@ public class Inventory implements Serializable {
         this.onSale = onSale;
     }
 
+    public Integer getReorderPoint() {
+        return reorderPoint;
+    }
+
+    public void setReorderPoint(Integer reorderPoint) {
+        this.reorderPoint = reorderPoint;
+    }
+
     @Override
     public String toString() {
         return "Item id=[" + id + "], name=" + name + ", desc=" + description + ", price=" + unitPrice + "quant=" + quantity + ", onSale=" + onSale;
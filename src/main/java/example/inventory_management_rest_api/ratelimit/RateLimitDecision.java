@@ -0,0 +1,53 @@
+package example.inventory_management_rest_api.ratelimit;
+
+/**
+ * The outcome of a rate limit check.
+ */
+public class RateLimitDecision {
+
+    private final boolean allowed;
+    private final int limit;
+    private final long remaining;
+    private final long retryAfterMillis;
+
+    private RateLimitDecision(boolean allowed, int limit, long remaining, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public static RateLimitDecision allowed(int limit, long remaining) {
+        return new RateLimitDecision(true, limit, remaining, 0);
+    }
+
+    public static RateLimitDecision rejected(int limit, long remaining, long retryAfterMillis) {
+        return new RateLimitDecision(false, limit, remaining, retryAfterMillis);
+    }
+
+    /**
+     * A request let through without checking, because Redis is unavailable.
+     */
+    public static RateLimitDecision unchecked(int limit) {
+        return new RateLimitDecision(true, limit, -1, 0);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return tokens left for the client, or -1 if unknown
+     */
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
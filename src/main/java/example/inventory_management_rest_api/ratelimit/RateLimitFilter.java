@@ -0,0 +1,111 @@
+package example.inventory_management_rest_api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.inventory_management_rest_api.exception.ErrorMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * This filter charges each /api request to its client's token bucket, by a cost that depends on the endpoint.
+ * Requests over the limit get 429 with an ErrorMessage body. Every response carries X-RateLimit-Limit and,
+ * when known, X-RateLimit-Remaining; rejected ones also carry Retry-After.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = endpointOf(request);
+        RateLimitDecision decision = rateLimiter.tryAcquire(clientOf(request), costOf(endpoint));
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.getLimit()));
+        if (decision.getRemaining() >= 0) {
+            response.setHeader(REMAINING_HEADER, String.valueOf(decision.getRemaining()));
+        }
+
+        if (decision.isAllowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("inventory.ratelimit.rejected", "endpoint", endpoint).increment();
+
+        long retryAfterSeconds = Math.max(1, (decision.getRetryAfterMillis() + 999) / 1000);
+        ErrorMessage message = new ErrorMessage(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                new Date(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                "uri=" + request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), message);
+    }
+
+    /**
+     * Identify the client by its authenticated principal, then by the trusted client header when one is
+     * configured, then by its address. A header sent by the client itself is not trusted by default, since
+     * a client could send a new value with every request to get a fresh bucket.
+     */
+    private String clientOf(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+
+        String header = properties.getClientHeader();
+        if (header != null && !header.isBlank()) {
+            String clientId = request.getHeader(header);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId;
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    // Name searches are the expensive reads, every other non-GET request is a write
+    private String endpointOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            boolean search = request.getRequestURI().endsWith("/inventory") && request.getParameter("name") != null;
+            return search ? "search" : "read";
+        }
+        return "write";
+    }
+
+    private int costOf(String endpoint) {
+        return switch (endpoint) {
+            case "search" -> properties.getCosts().getSearch();
+            case "read" -> properties.getCosts().getRead();
+            default -> properties.getCosts().getWrite();
+        };
+    }
+}
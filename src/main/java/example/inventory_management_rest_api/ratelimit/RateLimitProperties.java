@@ -0,0 +1,125 @@
+package example.inventory_management_rest_api.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of per-client rate limiting, bound from inventory.rate-limit.*.
+ */
+@ConfigurationProperties(prefix = "inventory.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Tokens taken by one request of each kind.
+     */
+    public static class Costs {
+
+        private int read = 1;
+
+        private int write = 2;
+
+        // Name searches are uncached LIKE scans for every new search string
+        private int search = 10;
+
+        public int getRead() {
+            return read;
+        }
+
+        public void setRead(int read) {
+            this.read = read;
+        }
+
+        public int getWrite() {
+            return write;
+        }
+
+        public void setWrite(int write) {
+            this.write = write;
+        }
+
+        public int getSearch() {
+            return search;
+        }
+
+        public void setSearch(int search) {
+            this.search = search;
+        }
+    }
+
+    private boolean enabled = false;
+
+    // Size of each client's bucket, the largest burst a client can send
+    private int capacity = 100;
+
+    // Tokens added to each bucket per second
+    private double refillPerSecond = 20;
+
+    private Costs costs = new Costs();
+
+    // Extra tokens a node takes from Redis at once and spends locally, 0 asks Redis on every request
+    private int leaseSize = 10;
+
+    // Leased tokens not used within this time are dropped
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    // Header identifying the client, set by a trusted gateway that drops the client's own value.
+    // Unset by default: unauthenticated clients are identified by their address
+    private String clientHeader;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+
+    public void setRefillPerSecond(double refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public Costs getCosts() {
+        return costs;
+    }
+
+    public void setCosts(Costs costs) {
+        this.costs = costs;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+}
@@ -0,0 +1,115 @@
+package example.inventory_management_rest_api.ratelimit;
+
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class enforces a token bucket per client, shared by all nodes through a Lua script in Redis.
+ * <p>
+ * To save a Redis round trip per request, a node takes a few extra tokens from the bucket when it can
+ * (a lease) and spends them locally until they run out or expire. Clients well under their limit then only
+ * reach Redis once per lease, while clients near their limit get small or no leases. When Redis fails or
+ * its circuit breaker is open, requests are let through.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final int CLEANUP_INTERVAL = 1024;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final RedisScript<List> script;
+    private final int capacity;
+    private final double refillPerSecond;
+    private final int leaseSize;
+    private final long leaseTtlNanos;
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicInteger checks = new AtomicInteger();
+
+    // Tokens of one client held by this node
+    private static class Lease {
+        long tokens;
+        long expiresAt;
+        long remainingInRedis;
+    }
+
+    public TokenBucketRateLimiter(StringRedisTemplate redisTemplate, RedisCircuitBreaker circuitBreaker,
+                                  RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.script = RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+        this.capacity = properties.getCapacity();
+        this.refillPerSecond = properties.getRefillPerSecond();
+        this.leaseSize = properties.getLeaseSize();
+        this.leaseTtlNanos = properties.getLeaseTtl().toNanos();
+    }
+
+    /**
+     * Take tokens from a client's bucket.
+     *
+     * @param clientId the client
+     * @param cost     tokens the request needs, at most the bucket capacity
+     * @return whether the request may go on, with the numbers for the rate limit headers
+     */
+    public RateLimitDecision tryAcquire(String clientId, int cost) {
+        cost = Math.min(cost, capacity);
+        if (checks.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+            removeExpiredLeases();
+        }
+
+        Lease lease = leases.computeIfAbsent(clientId, key -> new Lease());
+        synchronized (lease) {
+            long now = System.nanoTime();
+            long usable = now < lease.expiresAt ? lease.tokens : 0;
+
+            // Enough leased tokens, no need to ask Redis
+            if (usable >= cost) {
+                lease.tokens = usable - cost;
+                return RateLimitDecision.allowed(capacity, lease.tokens + lease.remainingInRedis);
+            }
+
+            if (!circuitBreaker.allowRequest()) {
+                return RateLimitDecision.unchecked(capacity);
+            }
+
+            List<Long> result;
+            try {
+                result = redisTemplate.execute(script, List.of(KEY_PREFIX + clientId),
+                        String.valueOf(capacity),
+                        String.valueOf(refillPerSecond),
+                        String.valueOf(cost - usable),
+                        String.valueOf(leaseSize));
+                circuitBreaker.recordSuccess();
+            } catch (DataAccessException e) {
+                circuitBreaker.recordFailure(e);
+                return RateLimitDecision.unchecked(capacity);
+            }
+
+            boolean allowed = result.get(0) == 1;
+            long granted = result.get(1);
+            lease.remainingInRedis = result.get(2);
+
+            if (!allowed) {
+                // Keep the leased tokens, the client may still afford a cheaper request
+                return RateLimitDecision.rejected(capacity, usable + lease.remainingInRedis, result.get(3));
+            }
+
+            lease.tokens = usable + granted - cost;
+            lease.expiresAt = now + leaseTtlNanos;
+            return RateLimitDecision.allowed(capacity, lease.tokens + lease.remainingInRedis);
+        }
+    }
+
+    private void removeExpiredLeases() {
+        long now = System.nanoTime();
+        leases.values().removeIf(lease -> now - lease.expiresAt > 0);
+    }
+}
@@ -3,12 +3,15 @@ package example.inventory_management_rest_api.repository;
 import example.inventory_management_rest_api.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * This interface extends JpaRepository for CRUD methods and custom finder methods.
  * JpaRepository supports save(), findOne(), findById(), findAll(), count(), delete(), and deleteById().
+ * Reads run in read-only transactions, so they can be served by a read replica when one is configured.
+ * The JPA transaction manager is named, since the reactive build also has an R2DBC one.
  */
 
 @Repository
@@ -20,6 +23,7 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      * @param onSale the status of the item
      * @return list of inventory items of the specified sale status
      */
+    @Transactional(transactionManager = "transactionManager", readOnly = true)
     List<Inventory> findByOnSale(boolean onSale);
 
     /**
@@ -28,5 +32,6 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      * @param name text to search in the Inventory item name
      * @return list of inventory items including the specified text in their names
      */
+    @Transactional(transactionManager = "transactionManager", readOnly = true)
     List<Inventory> findByNameContaining(String name);
 }
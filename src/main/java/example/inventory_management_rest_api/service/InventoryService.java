@@ -3,12 +3,14 @@ package example.inventory_management_rest_api.service;
 import java.util.List;
 import java.util.Optional;
 
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
 import example.inventory_management_rest_api.model.Inventory;
 import example.inventory_management_rest_api.repository.InventoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 
@@ -18,6 +20,12 @@ public class InventoryService {
     @Autowired
     InventoryRepository repository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    InventoryWriteBatcher writeBatcher;
+
     @Cacheable("inventory")
     public List<Inventory> findAll() {
         doLongRunningTask();
@@ -42,22 +50,36 @@ public class InventoryService {
     }
 
     public Inventory save(Inventory inventory) {
-        return repository.save(inventory);
+        if (writeBatcher.isEnabled()) {
+            return writeBatcher.submit(inventory);
+        }
+
+        Inventory saved = repository.save(inventory);
+        eventPublisher.publishEvent(InventoryChangedEvent.saved(saved));
+        return saved;
     }
 
     @CacheEvict(value = "inventory", key = "#inventory.id")
     public Inventory update(Inventory inventory) {
-        return repository.save(inventory);
+        if (writeBatcher.isEnabled()) {
+            return writeBatcher.submit(inventory);
+        }
+
+        Inventory saved = repository.save(inventory);
+        eventPublisher.publishEvent(InventoryChangedEvent.saved(saved));
+        return saved;
     }
 
     @CacheEvict(value = "inventory", key = "#id")
     public void deleteById(long id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(InventoryChangedEvent.deleted(id));
     }
 
     @CacheEvict(value = {"inventory", "inventoryItem", "inventoryOnSale"}, allEntries = true)
     public void deleteAll() {
         repository.deleteAll();
+        eventPublisher.publishEvent(InventoryChangedEvent.cleared());
     }
 
     @Cacheable("inventoryOnSale")
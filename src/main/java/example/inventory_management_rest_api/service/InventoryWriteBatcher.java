@@ -0,0 +1,252 @@
+package example.inventory_management_rest_api.service;
+
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class commits concurrent single-item writes together. Writes are collected until
+ * {@code maxBatchSize} items are waiting or {@code maxDelay} has passed since the first one, then the whole
+ * batch is saved in one transaction, which Hibernate sends as JDBC batches.
+ * <p>
+ * Each caller still gets its own saved item or its own error: if the batch transaction fails, the items are
+ * retried one transaction each, so only the failing item reports the error.
+ * The list caches are evicted, the saved items are put into the item cache and one InventoryChangedEvent is
+ * published once per batch.
+ * <p>
+ * A failing batch never stops the worker: its callers get the error and the next batch goes on as usual.
+ * Callers wait at most {@code timeout}, and writes are rejected while the worker is not running.
+ */
+@Component
+public class InventoryWriteBatcher {
+    private static final Log logger = LogFactory.getLog(InventoryWriteBatcher.class);
+
+    @Autowired
+    InventoryRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.write-batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.write-batch.max-size:50}")
+    private int maxBatchSize;
+
+    @Value("${inventory.write-batch.max-delay:5ms}")
+    private Duration maxDelay;
+
+    @Value("${inventory.write-batch.timeout:30s}")
+    private Duration timeout;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::run, "inventory-write-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(write -> write.result.completeExceptionally(
+                new IllegalStateException("Write batcher stopped before the item was saved")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Save an item as part of the next batch and wait for the batch to commit.
+     *
+     * @param inventory item to create or update
+     * @return the saved item
+     * @throws IllegalStateException if the batcher is not running, or the batch did not commit within the timeout
+     *                               (the item may still be saved later in that case)
+     */
+    public Inventory submit(Inventory inventory) {
+        if (!running) {
+            throw new IllegalStateException("Write batcher is not running");
+        }
+
+        PendingWrite write = new PendingWrite(inventory);
+        queue.add(write);
+
+        try {
+            return write.result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("Timed out after " + timeout + " waiting for the write batch to commit");
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Stopping: put back what was collected so stop() fails it
+                queue.addAll(batch);
+                return;
+            }
+
+            try {
+                commit(batch);
+            } catch (Throwable e) {
+                // Keep the worker alive for the next batches, and fail whoever in this batch is still waiting
+                logger.error("Write batch of " + batch.size() + " items failed", e);
+                batch.forEach(write -> write.result.completeExceptionally(e));
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<PendingWrite> saved = new ArrayList<>(batch.size());
+
+        try {
+            List<Inventory> items = transaction.execute(status ->
+                    repository.saveAll(batch.stream().map(PendingWrite::attempt).toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).saved = items.get(i);
+            }
+            saved.addAll(batch);
+        } catch (RuntimeException batchError) {
+            // Find out which items failed by saving them one at a time
+            for (PendingWrite write : batch) {
+                try {
+                    write.saved = transaction.execute(status -> repository.save(write.attempt()));
+                    saved.add(write);
+                } catch (RuntimeException e) {
+                    write.result.completeExceptionally(e);
+                }
+            }
+        }
+
+        if (saved.isEmpty()) {
+            return;
+        }
+
+        // The items are committed, so the callers get them even if the caches or listeners fail. They are
+        // completed last, so a caller reading right after its write sees the updated caches.
+        try {
+            updateCaches(saved);
+        } catch (RuntimeException e) {
+            logger.warn("Could not update the caches after a write batch", e);
+        }
+
+        // One event for the whole batch, so listeners clearing shared caches do it once
+        try {
+            eventPublisher.publishEvent(InventoryChangedEvent.saved(saved.stream().map(write -> write.saved).toList()));
+        } catch (RuntimeException e) {
+            logger.warn("Inventory change listener failed for a write batch of " + saved.size() + " items", e);
+        }
+
+        saved.forEach(write -> write.result.complete(write.saved));
+    }
+
+    private void updateCaches(List<PendingWrite> saved) {
+        evictAll("inventory");
+        evictAll("inventoryOnSale");
+
+        Cache itemCache = cacheManager.getCache("inventoryItem");
+        if (itemCache != null) {
+            saved.forEach(write -> itemCache.put(write.saved.getId(), write.saved));
+        }
+    }
+
+    private void evictAll(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Inventory inventory;
+        private final CompletableFuture<Inventory> result = new CompletableFuture<>();
+        private Inventory saved;
+
+        private PendingWrite(Inventory inventory) {
+            this.inventory = inventory;
+        }
+
+        // New items get a fresh copy per attempt, since a rolled back insert leaves its generated id behind
+        private Inventory attempt() {
+            if (inventory.getId() != 0) {
+                return inventory;
+            }
+
+            Inventory copy = new Inventory(
+                    inventory.getName(),
+                    inventory.getDescription(),
+                    inventory.getUnitPrice(),
+                    inventory.getQuantity(),
+                    inventory.getCategory(),
+                    inventory.isOnSale());
+            copy.setReorderPoint(inventory.getReorderPoint());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package example.inventory_management_rest_api.shard;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerDescriptor;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This id generator uses the same {@code inventory_seq} sequence as the default JPA mapping.
+ * <p>
+ * Without sharding it behaves exactly like the default generator. With N shards, each shard's own sequence
+ * gives a base value and the id is {@code base * N + shard}. Ids are then unique across shards, and the
+ * shard of any row can be computed from its id alone. Each shard keeps its own optimizer, since pooled
+ * values fetched from one shard's sequence must not be used on another.
+ * <p>
+ * N is read from the Hibernate setting {@value #SHARD_COUNT}, which ShardingConfig sets.
+ */
+public class ShardAwareSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String SHARD_COUNT = "inventory.shard-count";
+
+    private int shardCount = 1;
+    private final ConcurrentMap<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+    private OptimizerDescriptor optimizerDescriptor;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        // Same sequence and allocation size as @GeneratedValue(strategy = GenerationType.AUTO)
+        parameters.putIfAbsent(SEQUENCE_PARAM, "inventory_seq");
+        parameters.putIfAbsent(INCREMENT_PARAM, "50");
+        super.configure(type, parameters, serviceRegistry);
+
+        shardCount = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(SHARD_COUNT, StandardConverters.INTEGER, 1);
+    }
+
+    @Override
+    protected OptimizerDescriptor determineOptimizationStrategy(Properties parameters, int incrementSize) {
+        optimizerDescriptor = super.determineOptimizationStrategy(parameters, incrementSize);
+        return optimizerDescriptor;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (shardCount <= 1) {
+            return super.generate(session, object);
+        }
+
+        int shard = ShardContext.currentShard();
+        Optimizer optimizer = shardOptimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                optimizerDescriptor,
+                Long.class,
+                getDatabaseStructure().getIncrementSize(),
+                getDatabaseStructure().getInitialValue()));
+
+        long base = ((Number) optimizer.generate(getDatabaseStructure().buildCallback(session))).longValue();
+        return base * shardCount + shard;
+    }
+}
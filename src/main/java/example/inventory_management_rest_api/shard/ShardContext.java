@@ -0,0 +1,41 @@
+package example.inventory_management_rest_api.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * This class holds the shard the current thread is working on.
+ * ShardRoutingDataSource reads the current shard to pick a database, and ShardAwareSequenceGenerator
+ * reads it to give new ids that identify their shard: every id satisfies {@code id % shardCount == shard}.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard of the current thread, shard 0 if none is set
+     */
+    public static int currentShard() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Run an action with the current thread set to the given shard.
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+}
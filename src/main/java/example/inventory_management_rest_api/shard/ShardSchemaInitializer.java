@@ -0,0 +1,53 @@
+package example.inventory_management_rest_api.shard;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate only manages the schema of shard 0, the default of the routing DataSource, at startup.
+ * This Integrator applies the same schema action (spring.jpa.hibernate.ddl-auto) to the other shards,
+ * so with {@code update} a new column reaches every shard, and with {@code validate} a shard that has
+ * drifted fails the startup. With {@code create-drop} the other shards are dropped when the application stops.
+ */
+public class ShardSchemaInitializer implements Integrator {
+    private static final Log logger = LogFactory.getLog(ShardSchemaInitializer.class);
+
+    private final int shardCount;
+    private final Map<Integer, DelayedDropAction> dropActions = new ConcurrentHashMap<>();
+
+    public ShardSchemaInitializer(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            logger.info("Applying schema action to shard " + target);
+            ShardContext.callOn(target, () -> {
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                        sessionFactory.getProperties(), action -> dropActions.put(target, action));
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        dropActions.forEach((shard, action) -> ShardContext.callOn(shard, () -> {
+            action.perform(serviceRegistry);
+            return null;
+        }));
+        dropActions.clear();
+    }
+}
@@ -0,0 +1,363 @@
+package example.inventory_management_rest_api.shard;
+
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * This class routes InventoryRepository calls to the shards.
+ * <p>
+ * Calls for a known id go to the shard encoded in the id. New items are placed by category, or spread evenly,
+ * and an item stays on its shard when its category later changes. Calls taking several ids or items are split
+ * into one call per shard. Finders, findAll(), count() and the query-by-example methods run on every shard in
+ * parallel and the results are merged in id order, or in the requested Sort. A page is built by reading the
+ * first {@code offset + size} items of every shard, so deep pages get more expensive.
+ * <p>
+ * Each shard's work runs in its own transaction, so a saveAll() spanning several shards commits once per shard,
+ * and flush() has nothing left to do. For the same reason getReferenceById() returns the loaded item rather than
+ * a lazy reference. The fluent findBy(Example, Function) cannot be merged and is not supported.
+ */
+public class ShardedInventoryRepository implements InvocationHandler {
+
+    private static final Comparator<Inventory> ID_ORDER = Comparator.comparingLong(Inventory::getId);
+
+    private final InventoryRepository delegate;
+    private final ShardingProperties properties;
+    private final ExecutorService executor;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int shardCount;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    private ShardedInventoryRepository(InventoryRepository delegate, ShardingProperties properties,
+                                       PlatformTransactionManager transactionManager, ExecutorService executor) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.executor = executor;
+        this.shardCount = properties.getUrls().size();
+
+        // A new transaction for each shard, so a caller's transaction never pins the connection of one shard
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Create an InventoryRepository that spreads the items of the given repository over the shards.
+     *
+     * @param delegate repository bound to the shard-routing DataSource
+     * @param properties sharding settings
+     * @param transactionManager transaction manager of the shard-routing DataSource
+     * @param executor executor for the per-shard queries
+     * @return the sharded repository
+     */
+    public static InventoryRepository create(InventoryRepository delegate, ShardingProperties properties,
+                                             PlatformTransactionManager transactionManager, ExecutorService executor) {
+        return (InventoryRepository) Proxy.newProxyInstance(
+                InventoryRepository.class.getClassLoader(),
+                new Class<?>[]{InventoryRepository.class},
+                new ShardedInventoryRepository(delegate, properties, transactionManager, executor));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "ShardedInventoryRepository(" + shardCount + " shards)";
+            };
+        }
+
+        int argCount = args == null ? 0 : args.length;
+        switch (method.getName() + "/" + argCount) {
+            case "save/1", "saveAndFlush/1": {
+                Inventory inventory = (Inventory) args[0];
+                return onShard(shardFor(inventory), false, () -> invokeDelegate(method, args));
+            }
+            case "saveAll/1", "saveAllAndFlush/1":
+                return saveAll((Iterable<?>) args[0], method);
+            case "findById/1", "existsById/1":
+                return onShard(shardOfId((Long) args[0]), true, () -> invokeDelegate(method, args));
+            case "getReferenceById/1", "getById/1", "getOne/1": {
+                // A lazy reference could not be loaded after the shard's transaction ends, so load the item now
+                long id = (Long) args[0];
+                return onShard(shardOfId(id), true, () -> delegate.findById(id))
+                        .orElseThrow(() -> new EntityNotFoundException("Unable to find Inventory with id " + id));
+            }
+            case "deleteById/1":
+                return onShard(shardOfId((Long) args[0]), false, () -> invokeDelegate(method, args));
+            case "delete/1": {
+                Inventory inventory = (Inventory) args[0];
+                return onShard(shardOfId(inventory.getId()), false, () -> invokeDelegate(method, args));
+            }
+            case "findAllById/1": {
+                List<Inventory> merged = new ArrayList<>();
+                for (Object shardResult : byShard(idsOf((Iterable<?>) args[0]), true, method)) {
+                    merged.addAll((List<Inventory>) shardResult);
+                }
+                merged.sort(ID_ORDER);
+                return merged;
+            }
+            case "deleteAllById/1", "deleteAllByIdInBatch/1":
+                byShard(idsOf((Iterable<?>) args[0]), false, method);
+                return null;
+            case "deleteAll/1", "deleteAllInBatch/1", "deleteInBatch/1":
+                byShard(itemsOf((Iterable<?>) args[0]), false, method);
+                return null;
+            case "findAll/1", "findAll/2": {
+                Object last = args[argCount - 1];
+                if (last instanceof Pageable pageable) {
+                    return findPage(method, args, pageable);
+                }
+                return mergeLists(method, args, last instanceof Sort sort ? orderOf(sort) : ID_ORDER);
+            }
+            case "findOne/1": {
+                List<Inventory> found = new ArrayList<>();
+                for (Object shardResult : onAllShards(true, () -> invokeDelegate(method, args))) {
+                    ((Optional<Inventory>) shardResult).ifPresent(found::add);
+                }
+                if (found.size() > 1) {
+                    throw new IncorrectResultSizeDataAccessException(1, found.size());
+                }
+                return found.stream().findFirst();
+            }
+            case "deleteAll/0", "deleteAllInBatch/0":
+                onAllShards(false, () -> invokeDelegate(method, args));
+                return null;
+            case "flush/0":
+                // Every call above already committed on its shard
+                return null;
+            case "findBy/2":
+                throw new UnsupportedOperationException("findBy(Example, Function) is not supported across shards, "
+                        + "use findAll(Example, Sort) or findAll(Example, Pageable) instead");
+            default:
+                return onEveryShard(method, args);
+        }
+    }
+
+    /**
+     * Run a finder, count or exists query, including derived queries added to InventoryRepository later,
+     * on every shard and combine the results.
+     */
+    private Object onEveryShard(Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == List.class) {
+            return mergeLists(method, args, ID_ORDER);
+        }
+        if (returnType == long.class || returnType == Long.class) {
+            long total = 0;
+            for (Object shardTotal : onAllShards(true, () -> invokeDelegate(method, args))) {
+                total += (Long) shardTotal;
+            }
+            return total;
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            for (Object shardResult : onAllShards(true, () -> invokeDelegate(method, args))) {
+                if ((Boolean) shardResult) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        throw new UnsupportedOperationException(method.getName() + " is not supported across shards");
+    }
+
+    private List<Inventory> mergeLists(Method method, Object[] args, Comparator<Inventory> order) {
+        List<Inventory> merged = new ArrayList<>();
+        for (Object shardResult : onAllShards(true, () -> invokeDelegate(method, args))) {
+            merged.addAll((List<Inventory>) shardResult);
+        }
+        merged.sort(order);
+        return merged;
+    }
+
+    /**
+     * Read the first {@code offset + size} items of every shard, merge them and cut out the requested page.
+     */
+    private Page<Inventory> findPage(Method method, Object[] args, Pageable pageable) {
+        Comparator<Inventory> order = orderOf(pageable.getSort());
+        Object[] shardArgs = args.clone();
+        if (pageable.isPaged()) {
+            shardArgs[args.length - 1] = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(),
+                    pageable.getSort());
+        }
+
+        List<Inventory> merged = new ArrayList<>();
+        long total = 0;
+        for (Object shardResult : onAllShards(true, () -> invokeDelegate(method, shardArgs))) {
+            Page<Inventory> shardPage = (Page<Inventory>) shardResult;
+            merged.addAll(shardPage.getContent());
+            total += shardPage.getTotalElements();
+        }
+        merged.sort(order);
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    /**
+     * Call the delegate once per shard with the part of the ids or items that lives on that shard.
+     */
+    private List<Object> byShard(Map<Integer, List<Object>> groups, boolean readOnly, Method method) {
+        List<Object> results = new ArrayList<>(groups.size());
+        for (Map.Entry<Integer, List<Object>> group : groups.entrySet()) {
+            results.add(onShard(group.getKey(), readOnly,
+                    () -> invokeDelegate(method, new Object[]{group.getValue()})));
+        }
+        return results;
+    }
+
+    private Map<Integer, List<Object>> idsOf(Iterable<?> ids) {
+        Map<Integer, List<Object>> groups = new LinkedHashMap<>();
+        for (Object id : ids) {
+            groups.computeIfAbsent(shardOfId((Long) id), key -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
+
+    private Map<Integer, List<Object>> itemsOf(Iterable<?> entities) {
+        Map<Integer, List<Object>> groups = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            int shard = shardOfId(((Inventory) entity).getId());
+            groups.computeIfAbsent(shard, key -> new ArrayList<>()).add(entity);
+        }
+        return groups;
+    }
+
+    /**
+     * Compare items the way the database applies the Sort, with the id as the last tie-breaker so the merged
+     * order is stable.
+     */
+    private static Comparator<Inventory> orderOf(Sort sort) {
+        Comparator<Inventory> order = (first, second) -> 0;
+        for (Sort.Order property : sort) {
+            order = order.thenComparing(new PropertyComparator<>(
+                    property.getProperty(), property.isIgnoreCase(), property.isAscending()));
+        }
+        return order.thenComparing(ID_ORDER);
+    }
+
+    /**
+     * Save a group of items, one call to the delegate per shard, and return the saved items in input order.
+     */
+    private List<Inventory> saveAll(Iterable<?> entities, Method method) {
+        Map<Integer, List<Inventory>> byShard = new LinkedHashMap<>();
+        List<Integer> shardOfEach = new ArrayList<>();
+        for (Object entity : entities) {
+            Inventory inventory = (Inventory) entity;
+            int shard = shardFor(inventory);
+            shardOfEach.add(shard);
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(inventory);
+        }
+
+        Map<Integer, List<Inventory>> savedByShard = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<Inventory>> group : byShard.entrySet()) {
+            List<Inventory> saved = onShard(group.getKey(), false,
+                    () -> (List<Inventory>) invokeDelegate(method, new Object[]{group.getValue()}));
+            savedByShard.put(group.getKey(), new ArrayList<>(saved));
+        }
+
+        List<Inventory> result = new ArrayList<>(shardOfEach.size());
+        for (int shard : shardOfEach) {
+            result.add(savedByShard.get(shard).remove(0));
+        }
+        return result;
+    }
+
+    /**
+     * Find the shard of an item: the one encoded in its id if it was already saved, otherwise the one
+     * chosen by the strategy.
+     */
+    int shardFor(Inventory inventory) {
+        if (inventory.getId() != 0) {
+            return shardOfId(inventory.getId());
+        }
+
+        if (properties.getStrategy() == ShardingProperties.Strategy.CATEGORY) {
+            String category = inventory.getCategory();
+            if (category == null) {
+                return 0;
+            }
+            Integer configured = properties.getCategoryShards().get(category);
+            return configured != null ? configured : Math.floorMod(category.hashCode(), shardCount);
+        }
+
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    private int shardOfId(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    private <T> T onShard(int shard, boolean readOnly, Supplier<T> action) {
+        TransactionTemplate transaction = readOnly ? readTransaction : writeTransaction;
+        return ShardContext.callOn(shard, () -> transaction.execute(status -> action.get()));
+    }
+
+    private List<Object> onAllShards(boolean readOnly, Supplier<Object> action) {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, readOnly, action), executor));
+        }
+
+        List<Object> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<Object> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
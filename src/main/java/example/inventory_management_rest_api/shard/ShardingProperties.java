@@ -0,0 +1,88 @@
+package example.inventory_management_rest_api.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of category-based sharding, bound from inventory.sharding.*.
+ */
+@ConfigurationProperties(prefix = "inventory.sharding")
+public class ShardingProperties {
+
+    /**
+     * How new items are placed on a shard.
+     */
+    public enum Strategy {
+        // Items of a category share a shard, so per-category reads stay on one database
+        CATEGORY,
+        // Items are spread evenly over the shards, whatever their category
+        ID
+    }
+
+    private boolean enabled = false;
+
+    // JDBC URL of each shard, in shard order
+    private List<String> urls = new ArrayList<>();
+
+    // Credentials for all shards, spring.datasource.* when not set
+    private String username;
+
+    private String password;
+
+    private Strategy strategy = Strategy.CATEGORY;
+
+    // Shard of a category, categories not listed are placed by a hash of their name
+    private Map<String, Integer> categoryShards = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public Map<String, Integer> getCategoryShards() {
+        return categoryShards;
+    }
+
+    public void setCategoryShards(Map<String, Integer> categoryShards) {
+        this.categoryShards = categoryShards;
+    }
+}
@@ -0,0 +1,24 @@
+package example.inventory_management_rest_api.stock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * This sink writes every alert to the application log.
+ */
+@Component
+public class LoggingLowStockAlertSink implements LowStockAlertSink {
+    private static final Log logger = LogFactory.getLog(LoggingLowStockAlertSink.class);
+
+    @Override
+    public void publish(List<LowStockAlert> alerts) {
+        for (LowStockAlert alert : alerts) {
+            LowStockItem item = alert.getItem();
+            logger.warn("Stock alert " + alert.getType() + ": item id=[" + item.getId() + "], name=" + item.getName()
+                    + ", quant=" + item.getQuantity() + ", reorderPoint=" + item.getReorderPoint());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package example.inventory_management_rest_api.stock;
+
+import java.util.Date;
+
+/**
+ * This class represents an item crossing its reorder point, in either direction.
+ */
+public class LowStockAlert {
+
+    public enum Type {
+        BELOW_REORDER_POINT, RESTOCKED
+    }
+
+    private final Type type;
+    private final LowStockItem item;
+    private final Date timestamp;
+
+    public LowStockAlert(Type type, LowStockItem item, Date timestamp) {
+        this.type = type;
+        this.item = item;
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LowStockItem getItem() {
+        return item;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+}
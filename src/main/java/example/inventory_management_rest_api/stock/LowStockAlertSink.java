@@ -0,0 +1,15 @@
+package example.inventory_management_rest_api.stock;
+
+import java.util.List;
+
+/**
+ * This interface receives batches of low-stock alerts. Declare a bean implementing it to forward
+ * alerts to another system, e.g. a message queue or a purchasing service.
+ */
+public interface LowStockAlertSink {
+
+    /**
+     * @param alerts alerts in the order they happened
+     */
+    void publish(List<LowStockAlert> alerts);
+}
@@ -0,0 +1,51 @@
+package example.inventory_management_rest_api.stock;
+
+/**
+ * This class holds the stock level of an item together with the reorder point that applies to it.
+ */
+public class LowStockItem {
+    private final long id;
+    private final String name;
+    private final String category;
+    private final int quantity;
+    private final int reorderPoint;
+
+    public LowStockItem(long id, String name, String category, int quantity, int reorderPoint) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.quantity = quantity;
+        this.reorderPoint = reorderPoint;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getReorderPoint() {
+        return reorderPoint;
+    }
+
+    /**
+     * @return how far the quantity is above the reorder point; negative when the item is below it
+     */
+    public int getDeficit() {
+        return quantity - reorderPoint;
+    }
+
+    public boolean isBelowReorderPoint() {
+        return quantity < reorderPoint;
+    }
+}
@@ -0,0 +1,245 @@
+package example.inventory_management_rest_api.stock;
+
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * This class watches item quantities against their reorder points without scanning the inventory.
+ * <p>
+ * Every quantity change published by InventoryService is evaluated on its own. Items are indexed by how far
+ * their quantity is above the reorder point, so the items below it are always at the head of the index.
+ * When an item crosses its reorder point an alert is queued, and queued alerts are sent to the
+ * LowStockAlertSinks in batches.
+ * <p>
+ * The reorder point of an item is its own one if set, else the one configured for its category.
+ * Items with neither are not watched.
+ * <p>
+ * Only the writes of this node are published, so the items are also reloaded every {@code reload-interval}
+ * to pick up the writes of other nodes. A reload does not raise alerts: the node that made a change alerts for it.
+ */
+@Component
+@EnableConfigurationProperties(StockAlertProperties.class)
+public class LowStockMonitor {
+    private static final Log logger = LogFactory.getLog(LowStockMonitor.class);
+
+    @Autowired
+    InventoryRepository repository;
+
+    @Autowired
+    StockAlertProperties properties;
+
+    @Autowired
+    List<LowStockAlertSink> sinks;
+
+    // Guarded by this
+    private final Map<Long, LowStockItem> items = new HashMap<>();
+    private final NavigableSet<LowStockItem> byDeficit = new TreeSet<>(
+            Comparator.comparingInt(LowStockItem::getDeficit).thenComparingLong(LowStockItem::getId));
+    private final List<LowStockAlert> pendingAlerts = new ArrayList<>();
+    private final Deque<LowStockAlert> recentAlerts = new ArrayDeque<>();
+    private final List<InventoryChangedEvent> pendingEvents = new ArrayList<>();
+    private boolean ready;
+    private boolean reloading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.isEnabled()) {
+            load(repository.findAll());
+        }
+    }
+
+    /**
+     * Read all items again. Changes arriving meanwhile are applied as usual, and once more on top of the new
+     * content, without alerting again, in case the read missed them.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stock-alerts.reload-interval:PT1M}",
+            initialDelayString = "${inventory.stock-alerts.reload-interval:PT1M}")
+    public void reload() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (!ready) {
+                return;
+            }
+            reloading = true;
+        }
+
+        List<Inventory> inventories;
+        try {
+            inventories = repository.findAll();
+        } catch (RuntimeException e) {
+            logger.warn("Low stock monitor reload failed, keeping the current items", e);
+            synchronized (this) {
+                reloading = false;
+                pendingEvents.clear();
+            }
+            return;
+        }
+        load(inventories);
+    }
+
+    /**
+     * Start watching the given items. Items already below their reorder point do not raise alerts.
+     */
+    public synchronized void load(List<Inventory> inventories) {
+        // While reloading, the pending events have already been applied and alerted once
+        boolean alert = !reloading;
+        items.clear();
+        byDeficit.clear();
+        for (Inventory inventory : inventories) {
+            LowStockItem item = toItem(inventory);
+            if (item != null) {
+                items.put(item.getId(), item);
+                byDeficit.add(item);
+            }
+        }
+
+        pendingEvents.forEach(event -> apply(event, alert));
+        pendingEvents.clear();
+        reloading = false;
+        ready = true;
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        boolean batchFull;
+        synchronized (this) {
+            if (!ready) {
+                pendingEvents.add(event);
+                return;
+            }
+            apply(event, true);
+            if (reloading) {
+                pendingEvents.add(event);
+            }
+            batchFull = pendingAlerts.size() >= properties.getBatchSize();
+        }
+
+        if (batchFull) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the queued alerts to the sinks.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stock-alerts.flush-interval:PT1S}")
+    public void flush() {
+        List<LowStockAlert> batch;
+        synchronized (this) {
+            if (pendingAlerts.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingAlerts);
+            pendingAlerts.clear();
+        }
+
+        for (LowStockAlertSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (RuntimeException e) {
+                logger.error("Stock alert sink " + sink.getClass().getSimpleName() + " failed", e);
+            }
+        }
+    }
+
+    /**
+     * @return the items below their reorder point, the furthest below first
+     */
+    public synchronized List<LowStockItem> findBelowReorderPoint() {
+        List<LowStockItem> below = new ArrayList<>();
+        for (LowStockItem item : byDeficit) {
+            if (!item.isBelowReorderPoint()) {
+                break;
+            }
+            below.add(item);
+        }
+        return below;
+    }
+
+    /**
+     * @return the most recent alerts, the newest first
+     */
+    public synchronized List<LowStockAlert> findRecentAlerts() {
+        return new ArrayList<>(recentAlerts);
+    }
+
+    private void apply(InventoryChangedEvent event, boolean alert) {
+        switch (event.getType()) {
+            case SAVED -> event.getInventories().forEach(inventory ->
+                    update(inventory.getId(), toItem(inventory), alert));
+            case DELETED -> event.getIds().forEach(id -> update(id, null, alert));
+            case CLEARED -> {
+                items.clear();
+                byDeficit.clear();
+            }
+        }
+    }
+
+    private void update(long id, LowStockItem item, boolean alert) {
+        LowStockItem previous = item == null ? items.remove(id) : items.put(id, item);
+        if (previous != null) {
+            byDeficit.remove(previous);
+        }
+        if (item == null) {
+            return;
+        }
+        byDeficit.add(item);
+        if (!alert) {
+            return;
+        }
+
+        boolean wasBelow = previous != null && previous.isBelowReorderPoint();
+        if (item.isBelowReorderPoint() && !wasBelow) {
+            alert(new LowStockAlert(LowStockAlert.Type.BELOW_REORDER_POINT, item, new Date()));
+        } else if (!item.isBelowReorderPoint() && wasBelow) {
+            alert(new LowStockAlert(LowStockAlert.Type.RESTOCKED, item, new Date()));
+        }
+    }
+
+    private void alert(LowStockAlert alert) {
+        pendingAlerts.add(alert);
+        recentAlerts.addFirst(alert);
+        if (recentAlerts.size() > properties.getRecentAlerts()) {
+            recentAlerts.removeLast();
+        }
+    }
+
+    private LowStockItem toItem(Inventory inventory) {
+        Integer reorderPoint = inventory.getReorderPoint();
+        if (reorderPoint == null && inventory.getCategory() != null) {
+            reorderPoint = properties.getCategoryReorderPoints().get(inventory.getCategory());
+        }
+        if (reorderPoint == null) {
+            return null;
+        }
+
+        return new LowStockItem(inventory.getId(), inventory.getName(), inventory.getCategory(),
+                inventory.getQuantity(), reorderPoint);
+    }
+}
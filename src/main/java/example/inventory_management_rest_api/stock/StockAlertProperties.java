@@ -0,0 +1,56 @@
+package example.inventory_management_rest_api.stock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the low-stock monitor, bound from inventory.stock-alerts.*.
+ */
+@ConfigurationProperties(prefix = "inventory.stock-alerts")
+public class StockAlertProperties {
+
+    private boolean enabled = false;
+
+    // Reorder point used for items of a category that have no reorder point of their own
+    private Map<String, Integer> categoryReorderPoints = new HashMap<>();
+
+    // Alerts are sent to the sinks once this many are pending, or at the next scheduled flush
+    private int batchSize = 100;
+
+    // Number of most recent alerts kept for the alerts endpoint
+    private int recentAlerts = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Integer> getCategoryReorderPoints() {
+        return categoryReorderPoints;
+    }
+
+    public void setCategoryReorderPoints(Map<String, Integer> categoryReorderPoints) {
+        this.categoryReorderPoints = categoryReorderPoints;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getRecentAlerts() {
+        return recentAlerts;
+    }
+
+    public void setRecentAlerts(int recentAlerts) {
+        this.recentAlerts = recentAlerts;
+    }
+}
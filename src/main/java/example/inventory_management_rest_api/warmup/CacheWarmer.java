@@ -0,0 +1,138 @@
+package example.inventory_management_rest_api.warmup;
+
+import example.inventory_management_rest_api.service.InventoryService;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class preloads the caches after startup with the items that were requested most before the last
+ * shutdown, and the on-sale list. The hot item ids are tracked while running and saved to a snapshot file.
+ * Until the warm-up finishes, CacheWarmupHealthIndicator keeps the readiness probe out of service.
+ */
+@Component
+public class CacheWarmer {
+    private static final Log logger = LogFactory.getLog(CacheWarmer.class);
+
+    @Autowired
+    InventoryService service;
+
+    @Value("${inventory.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.warmup.snapshot-path:data/hot-keys.bin}")
+    private String snapshotPath;
+
+    @Value("${inventory.warmup.top-n:100}")
+    private int topN;
+
+    @Value("${inventory.warmup.parallelism:8}")
+    private int parallelism;
+
+    @Value("${inventory.warmup.timeout:2m}")
+    private Duration timeout;
+
+    private final HotKeyTracker tracker = new HotKeyTracker();
+    private final AtomicInteger warmedItems = new AtomicInteger();
+    private volatile int totalItems;
+    private volatile boolean finished;
+
+    /**
+     * Count a request for an item, so it can be preloaded after the next restart.
+     *
+     * @param id id of the requested item
+     */
+    public void recordAccess(long id) {
+        if (enabled) {
+            tracker.record(id);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread thread = new Thread(this::loadCaches, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void loadCaches() {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            long[] ids = HotKeySnapshot.read(Path.of(snapshotPath));
+            totalItems = ids.length;
+
+            executor.submit(() -> service.findByOnSale(true));
+            for (long id : ids) {
+                executor.submit(() -> {
+                    service.findById(id);
+                    warmedItems.incrementAndGet();
+                });
+            }
+
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Cache warm-up timed out after " + timeout + ", continuing with a partly warm cache");
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read hot key snapshot " + snapshotPath, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            finished = true;
+            logger.info("Cache warm-up loaded " + warmedItems.get() + "/" + totalItems + " items in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.warmup.snapshot-interval:PT1M}",
+            initialDelayString = "${inventory.warmup.snapshot-interval:PT1M}")
+    public void saveSnapshot() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            HotKeySnapshot.write(Path.of(snapshotPath), tracker.topKeys(topN));
+            tracker.decay();
+        } catch (IOException e) {
+            logger.warn("Cannot write hot key snapshot " + snapshotPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void saveSnapshotOnShutdown() {
+        saveSnapshot();
+    }
+
+    public boolean isWarm() {
+        return !enabled || finished;
+    }
+
+    public int getWarmedItems() {
+        return warmedItems.get();
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+}
@@ -0,0 +1,26 @@
+package example.inventory_management_rest_api.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * This health indicator reports OUT_OF_SERVICE until the cache warm-up has finished.
+ * It is part of the readiness group, so traffic is only routed to the node once its cache is warm.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+    @Autowired
+    CacheWarmer cacheWarmer;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmer.isWarm() ? Health.up() : Health.outOfService();
+
+        return builder
+                .withDetail("warmedItems", cacheWarmer.getWarmedItems())
+                .withDetail("totalItems", cacheWarmer.getTotalItems())
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package example.inventory_management_rest_api.warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class saves and loads the hot item ids as a compact binary file:
+ * a magic number, a format version, the number of ids, then the ids as 8-byte longs.
+ * The file is read through a memory-mapped buffer, so loading it at boot costs no parsing.
+ */
+public final class HotKeySnapshot {
+
+    private static final int MAGIC = 0x494E5648; // "INVH"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private HotKeySnapshot() {
+    }
+
+    /**
+     * Write the ids to a temporary file and move it over the snapshot, so a crash never leaves a partial file.
+     */
+    public static void write(Path path, long[] ids) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + ids.length * Long.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(ids.length);
+        buffer.asLongBuffer().put(ids);
+        buffer.rewind();
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the ids from a snapshot.
+     *
+     * @return the saved ids, or an empty array if there is no valid snapshot
+     */
+    public static long[] read(Path path) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_BYTES) {
+            return new long[0];
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return new long[0];
+            }
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * Long.BYTES > buffer.remaining()) {
+                return new long[0];
+            }
+
+            long[] ids = new long[count];
+            buffer.asLongBuffer().get(ids);
+            return ids;
+        }
+    }
+}
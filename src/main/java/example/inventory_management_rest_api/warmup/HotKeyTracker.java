@@ -0,0 +1,52 @@
+package example.inventory_management_rest_api.warmup;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class counts how often each inventory item is requested, so the most requested ones can be
+ * preloaded into the cache after a restart.
+ */
+public class HotKeyTracker {
+
+    private final ConcurrentHashMap<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public void record(long id) {
+        counts.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Get the most requested ids.
+     *
+     * @param n maximum number of ids to return
+     * @return ids ordered from most to least requested
+     */
+    public long[] topKeys(int n) {
+        Comparator<Map.Entry<Long, Long>> byCount = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(byCount);
+
+        counts.forEach((id, count) -> {
+            top.add(Map.entry(id, count.get()));
+            if (top.size() > n) {
+                top.poll();
+            }
+        });
+
+        long[] ids = new long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().getKey();
+        }
+        return ids;
+    }
+
+    /**
+     * Halve every count and forget ids that are no longer requested, so the hot set follows current traffic.
+     */
+    public void decay() {
+        counts.values().forEach(count -> count.updateAndGet(value -> value / 2));
+        counts.values().removeIf(count -> count.get() == 0);
+    }
+}
@@ -0,0 +1,41 @@
+-- Token bucket of one client, shared by all nodes.
+-- KEYS[1]: bucket key
+-- ARGV: capacity, refill rate in tokens per second, cost of the request, extra tokens to lease to the node
+-- Returns {allowed, tokens granted, tokens left, retry after in milliseconds}
+
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local cost = tonumber(ARGV[3])
+local lease = tonumber(ARGV[4])
+
+-- Redis time, so that nodes with different clocks share one bucket
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'updated')
+local tokens = tonumber(bucket[1])
+local updated = tonumber(bucket[2])
+if tokens == nil then
+    tokens = capacity
+    updated = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - updated) * rate / 1000)
+
+local allowed = 0
+local granted = 0
+local retry_after = 0
+if tokens >= cost then
+    allowed = 1
+    -- Lease whole tokens only, never more than the bucket holds
+    granted = math.max(cost, math.floor(math.min(tokens, cost + lease)))
+    tokens = tokens - granted
+else
+    retry_after = math.ceil((cost - tokens) * 1000 / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'updated', now)
+-- A full bucket needs no state, let it expire once it would have refilled
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+
+return {allowed, granted, math.floor(tokens), retry_after}
@@ -0,0 +1,94 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.reactive.InventoryRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+/**
+ * Testing that the reactive variant keeps the /api/inventory contract, run with: mvn -Preactive test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+class ReactiveInventoryControllerTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        // Cache misses include the simulated 3 second task
+        client = client.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+        client.delete().uri("/api/inventory").exchange().expectStatus().isNoContent();
+    }
+
+    /**
+     * Test creating, finding, updating and deleting items.
+     */
+    @Test
+    void should_create_find_update_and_delete_inventory() {
+        long id = create("MP3", true);
+        create("Desk", false);
+
+        client.get().uri("/api/inventory").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+        client.get().uri("/api/inventory/onsale").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("MP3");
+        client.get().uri("/api/inventory?name=es").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("Desk");
+
+        client.put().uri("/api/inventory/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("MP4", true))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("MP4");
+
+        client.delete().uri("/api/inventory/{id}", id).exchange().expectStatus().isNoContent();
+        client.get().uri("/api/inventory/{id}", id).exchange().expectStatus().isNotFound();
+    }
+
+    /**
+     * Test that a missing item gives the same error body as the servlet stack.
+     */
+    @Test
+    void should_return_not_found_error_message() {
+        client.get().uri("/api/inventory/999").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Inventory not found with id 999")
+                .jsonPath("$.description").isEqualTo("uri=/api/inventory/999");
+    }
+
+    private long create(String name, boolean onSale) {
+        return client.post().uri("/api/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body(name, onSale))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(InventoryRow.class)
+                .returnResult().getResponseBody().getId();
+    }
+
+    private String body(String name, boolean onSale) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Description\",\"unitPrice\":5.25,"
+                + "\"quantity\":3,\"category\":\"Electronics\",\"onSale\":" + onSale + "}";
+    }
+}
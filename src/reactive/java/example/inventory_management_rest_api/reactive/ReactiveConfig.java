@@ -0,0 +1,36 @@
+package example.inventory_management_rest_api.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+import javax.sql.DataSource;
+
+/**
+ * R2DBC and JDBC settings of the reactive variant.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    // Quote all names, since some inventory columns contain spaces and dashes
+    @Bean
+    public R2dbcMappingContext r2dbcMappingContext(R2dbcCustomConversions conversions) {
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setForceQuote(true);
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    // Spring Boot skips the JDBC DataSource once R2DBC is configured, but JPA still manages the schema
+    // and backs the features shared with the servlet stack
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+}
@@ -0,0 +1,137 @@
+package example.inventory_management_rest_api.reactive;
+
+import example.inventory_management_rest_api.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+
+/**
+ * This is a WebFlux RestController with the same RESTful contract as InventoryController
+ */
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+public class ReactiveInventoryController {
+
+    @Autowired
+    ReactiveInventoryService service;
+
+    /**
+     * Get all items.
+     *
+     * @param name text to search in item names
+     * @return a list of items that have the given text in their names; no content if there are none
+     */
+    @GetMapping("/inventory")
+    public Mono<ResponseEntity<List<InventoryRow>>> getAllInventory(@RequestParam(required = false) String name) {
+        // If user did not provide a name, return all items, else the ones containing the given text
+        Mono<List<InventoryRow>> inventories = name == null ? service.findAll() : service.findByNameContaining(name);
+
+        return inventories.map(this::listResponse);
+    }
+
+    /**
+     * Get item with the provided id.
+     *
+     * @param id id to search in Inventory
+     * @return inventory item with the given id; return not found if given id not exists
+     */
+    @GetMapping("/inventory/{id}")
+    public Mono<ResponseEntity<InventoryRow>> getInventoryById(@PathVariable("id") long id) {
+        return findOrFail(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Add an inventory item into the database.
+     *
+     * @param inventory inventory item to be added.
+     * @return the added inventory if succeeds; return server error if fails
+     */
+    @PostMapping("/inventory")
+    public Mono<ResponseEntity<InventoryRow>> createInventory(@RequestBody InventoryRow inventory) {
+        InventoryRow newInventory = new InventoryRow();
+        copy(inventory, newInventory);
+
+        return service.save(newInventory).map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    /**
+     * Update inventory information based on the id of the item.
+     *
+     * @param id        id of the item to update
+     * @param inventory inventory object
+     * @return updated inventory or error message if fails
+     */
+    @PutMapping("/inventory/{id}")
+    public Mono<ResponseEntity<InventoryRow>> updateInventory(@PathVariable("id") long id,
+                                                              @RequestBody InventoryRow inventory) {
+        return findOrFail(id)
+                .flatMap(_inventory -> {
+                    copy(inventory, _inventory);
+                    return service.update(_inventory);
+                })
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Delete an inventory item of the given id.
+     *
+     * @param id of the item to be deleted
+     * @return response after deletion
+     */
+    @DeleteMapping("/inventory/{id}")
+    public Mono<ResponseEntity<Void>> deleteInventory(@PathVariable("id") long id) {
+        return service.deleteById(id).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Delete all inventories.
+     *
+     * @return response after deletion
+     */
+    @DeleteMapping("/inventory")
+    public Mono<ResponseEntity<Void>> deleteAllInventory() {
+        return service.deleteAll().thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Get all inventory items that are on sale.
+     *
+     * @return a list of items onsale or error message if fails
+     */
+    @GetMapping("/inventory/onsale")
+    public Mono<ResponseEntity<List<InventoryRow>>> getInventoryOnSale() {
+        return service.findByOnSale(true).map(this::listResponse);
+    }
+
+    private Mono<InventoryRow> findOrFail(long id) {
+        return service.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Inventory not found with id " + id)));
+    }
+
+    private ResponseEntity<List<InventoryRow>> listResponse(List<InventoryRow> inventories) {
+        // If the list is empty, return no content
+        if (inventories.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(inventories, HttpStatus.OK);
+    }
+
+    private void copy(InventoryRow from, InventoryRow to) {
+        to.setName(from.getName());
+        to.setDescription(from.getDescription());
+        to.setUnitPrice(from.getUnitPrice());
+        to.setQuantity(from.getQuantity());
+        to.setCategory(from.getCategory());
+        to.setOnSale(from.isOnSale());
+        to.setReorderPoint(from.getReorderPoint());
+    }
+}
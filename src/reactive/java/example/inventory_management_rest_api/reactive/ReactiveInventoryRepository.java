@@ -0,0 +1,29 @@
+package example.inventory_management_rest_api.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * This interface is the R2DBC equivalent of InventoryRepository.
+ */
+
+@Repository
+public interface ReactiveInventoryRepository extends ReactiveCrudRepository<InventoryRow, Long> {
+
+    /**
+     * Custom finder: Get Inventory items by whether it is on sales.
+     *
+     * @param onSale the status of the item
+     * @return inventory items of the specified sale status
+     */
+    Flux<InventoryRow> findByOnSale(boolean onSale);
+
+    /**
+     * Custom finder: Get Inventory items whose name contains specified text.
+     *
+     * @param name text to search in the Inventory item name
+     * @return inventory items including the specified text in their names
+     */
+    Flux<InventoryRow> findByNameContaining(String name);
+}
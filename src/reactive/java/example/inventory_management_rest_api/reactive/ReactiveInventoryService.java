@@ -0,0 +1,196 @@
+package example.inventory_management_rest_api.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.inventory_management_rest_api.cache.ReactiveCacheEvictor;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import example.inventory_management_rest_api.cache.ResponseBodyCache;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reactive counterpart of InventoryService. Reads are cached in Redis (cache-aside) under keys
+ * prefixed with "reactive:", so they never mix with the servlet stack's cache entries. Writes evict the matching
+ * entries of both stacks, so servlet and reactive nodes can serve the same database (the servlet side is
+ * ReactiveCacheEvictor); only a servlet node's local fallback cache, used while Redis is down, is not reached.
+ * The simulated slow task is a timer rather than a sleeping thread. A failing Redis is treated as a cache miss
+ * and shares the circuit breaker of the servlet cache.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInventoryService {
+    private static final Log logger = LogFactory.getLog(ReactiveInventoryService.class);
+
+    private static final String KEY_PREFIX = ReactiveCacheEvictor.KEY_PREFIX;
+    private static final TypeReference<List<InventoryRow>> ROW_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<InventoryRow> ROW = new TypeReference<>() {
+    };
+
+    @Autowired
+    ReactiveInventoryRepository repository;
+
+    @Autowired
+    R2dbcEntityTemplate template;
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Autowired
+    ReactiveStringRedisTemplate redisTemplate;
+
+    @Autowired
+    RedisCircuitBreaker circuitBreaker;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    public Mono<List<InventoryRow>> findAll() {
+        return cached("inventory::all", Duration.ofMinutes(5), ROW_LIST, repository.findAll().collectList());
+    }
+
+    public Mono<List<InventoryRow>> findByNameContaining(String name) {
+        return cached("inventory::name:" + name, Duration.ofMinutes(5), ROW_LIST,
+                repository.findByNameContaining(name).collectList());
+    }
+
+    public Mono<InventoryRow> findById(long id) {
+        return cached("inventoryItem::" + id, Duration.ofMinutes(1), ROW, repository.findById(id));
+    }
+
+    public Mono<List<InventoryRow>> findByOnSale(boolean onSale) {
+        return cached("inventoryOnSale::" + onSale, Duration.ofMinutes(10), ROW_LIST,
+                repository.findByOnSale(onSale).collectList());
+    }
+
+    /**
+     * Insert a new item. Its id is a value of inventory_seq, which the JPA side uses as the upper end of an
+     * allocated block, so the two stacks never hand out the same id.
+     */
+    public Mono<InventoryRow> save(InventoryRow row) {
+        return nextId()
+                .flatMap(id -> {
+                    row.setId(id);
+                    return template.insert(row);
+                })
+                .flatMap(saved -> evictLists().thenReturn(saved));
+    }
+
+    public Mono<InventoryRow> update(InventoryRow row) {
+        return repository.save(row)
+                .flatMap(saved -> evict(itemKeys(saved.getId()))
+                        .then(evictLists())
+                        .thenReturn(saved));
+    }
+
+    public Mono<Void> deleteById(long id) {
+        return repository.deleteById(id)
+                .then(evict(itemKeys(id)))
+                .then(evictLists());
+    }
+
+    public Mono<Void> deleteAll() {
+        return repository.deleteAll()
+                .then(evict(Flux.concat(scan(KEY_PREFIX + "inventoryItem::*"), scan("inventoryItem::*"))))
+                .then(evictLists());
+    }
+
+    private Mono<Long> nextId() {
+        return databaseClient.sql("select nextval('inventory_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private <T> Mono<T> cached(String key, Duration ttl, TypeReference<T> type, Mono<T> loader) {
+        String redisKey = KEY_PREFIX + key;
+
+        Mono<T> load = doLongRunningTask()
+                .then(loader)
+                .flatMap(value -> put(redisKey, value, ttl).thenReturn(value));
+
+        return get(redisKey, type).switchIfEmpty(Mono.defer(() -> load));
+    }
+
+    private <T> Mono<T> get(String key, TypeReference<T> type) {
+        if (!circuitBreaker.allowRequest()) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.opsForValue().get(key)
+                .doOnSuccess(json -> circuitBreaker.recordSuccess())
+                .flatMap(json -> {
+                    try {
+                        return Mono.just(objectMapper.readValue(json, type));
+                    } catch (JsonProcessingException e) {
+                        return Mono.empty();
+                    }
+                })
+                .onErrorResume(this::redisFailed);
+    }
+
+    private Mono<Boolean> put(String key, Object value, Duration ttl) {
+        if (!circuitBreaker.allowRequest()) {
+            return Mono.just(false);
+        }
+
+        try {
+            return redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), ttl)
+                    .doOnSuccess(result -> circuitBreaker.recordSuccess())
+                    .onErrorResume(this::redisFailed);
+        } catch (JsonProcessingException e) {
+            return Mono.just(false);
+        }
+    }
+
+    // The item entries of both stacks; servlet keys are "cacheName::key", as written by RedisCacheManager
+    private static Flux<String> itemKeys(long id) {
+        return Flux.just(KEY_PREFIX + "inventoryItem::" + id, "inventoryItem::" + id);
+    }
+
+    private Mono<Void> evictLists() {
+        return evict(Flux.concat(
+                scan(KEY_PREFIX + "inventory::*"),
+                scan(KEY_PREFIX + "inventoryOnSale::*"),
+                scan("inventory::*"),
+                scan("inventoryOnSale::*"),
+                Flux.fromIterable(ResponseBodyCache.LIST_KEYS).map(key -> ResponseBodyCache.CACHE_NAME + "::" + key)));
+    }
+
+    private Mono<Void> evict(Flux<String> keys) {
+        if (!circuitBreaker.allowRequest()) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.delete(keys)
+                .doOnSuccess(result -> circuitBreaker.recordSuccess())
+                .onErrorResume(this::redisFailed)
+                .then();
+    }
+
+    private Flux<String> scan(String pattern) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).build());
+    }
+
+    private <T> Mono<T> redisFailed(Throwable e) {
+        logger.warn("Redis cache error, treated as a miss: " + e.getMessage());
+        circuitBreaker.recordFailure(e instanceof Exception ex ? ex : new RuntimeException(e));
+        return Mono.empty();
+    }
+
+    private Mono<Long> doLongRunningTask() {
+        return Mono.delay(Duration.ofSeconds(3));
+    }
+}
@@ -0,0 +1,69 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.limiter.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing that the concurrency limit rejects excess requests and follows the measured latency.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    /**
+     * Test that requests beyond the limit are rejected until one finishes.
+     */
+    @Test
+    void should_reject_requests_over_limit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    /**
+     * Test that the limit grows while latency is steady and the limit is in use.
+     */
+    @Test
+    void should_increase_limit_when_latency_is_steady() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 10, 1, 100);
+
+        runSaturated(limiter, 200, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    /**
+     * Test that the limit shrinks when latency rises well above the baseline.
+     */
+    @Test
+    void should_decrease_limit_when_latency_rises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 50, 1, 100);
+        runSaturated(limiter, 100, TimeUnit.MILLISECONDS.toNanos(10));
+        int limitBefore = limiter.getLimit();
+
+        // A short burst only, the baseline eventually adapts to a lasting latency change
+        runSaturated(limiter, 3, TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertThat(limiter.getLimit()).isLessThan(limitBefore);
+    }
+
+    // Fill the limit, then release every request with the given latency
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, int rounds, long rttNanos) {
+        for (int i = 0; i < rounds; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.catalog.CatalogFilter;
+import example.inventory_management_rest_api.catalog.CatalogSummary;
+import example.inventory_management_rest_api.catalog.ColumnarCatalog;
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testing filter queries, aggregates and incremental updates of the columnar catalog.
+ */
+class ColumnarCatalogTest {
+
+    private ColumnarCatalog catalog;
+    private Inventory item1, item2, item3, item4;
+
+    @BeforeEach
+    void setUp() {
+        item1 = inventory(1L, new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true));
+        item2 = inventory(2L, new Inventory("Laptop", "Portable computer", 100.0, 5, "Electronics", false));
+        item3 = inventory(3L, new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", true));
+        item4 = inventory(4L, new Inventory("Chair", "Office chair", 80.0, 12, "Furniture", false));
+
+        catalog = new ColumnarCatalog();
+        ReflectionTestUtils.setField(catalog, "enabled", true);
+        catalog.load(List.of(item1, item2, item3, item4));
+    }
+
+    /**
+     * Test that the on-sale bitmap returns exactly the items on sale.
+     */
+    @Test
+    void should_find_on_sale_items() {
+        assertThat(catalog.findOnSale()).containsExactly(item1, item3);
+    }
+
+    /**
+     * Test combining a category bitmap with price and quantity conditions.
+     */
+    @Test
+    void should_filter_by_category_price_and_quantity() {
+        assertThat(catalog.filter(new CatalogFilter(null, null, null, "Furniture", null)))
+                .containsExactly(item3, item4);
+        assertThat(catalog.filter(new CatalogFilter(50.0, 150.0, null, null, null)))
+                .containsExactly(item2, item4);
+        assertThat(catalog.filter(new CatalogFilter(null, null, 6, null, false)))
+                .containsExactly(item2);
+        assertThat(catalog.filter(new CatalogFilter(null, null, null, "Garden", null))).isEmpty();
+    }
+
+    /**
+     * Test the stock totals.
+     */
+    @Test
+    void should_summarize_stock() {
+        CatalogSummary summary = catalog.summary();
+
+        assertThat(summary.getItemCount()).isEqualTo(4);
+        assertThat(summary.getOnSaleCount()).isEqualTo(2);
+        assertThat(summary.getTotalQuantity()).isEqualTo(29);
+        assertThat(summary.getStockValue()).isEqualTo(5.25 * 10 + 100.0 * 5 + 250.0 * 2 + 80.0 * 12);
+    }
+
+    /**
+     * Test that saves and deletes published by the service are reflected in the indexes.
+     */
+    @Test
+    void should_apply_changes_incrementally() {
+        Inventory updated = inventory(2L, new Inventory("Laptop", "Portable computer", 90.0, 5, "Electronics", true));
+        catalog.onInventoryChanged(InventoryChangedEvent.saved(updated));
+        catalog.onInventoryChanged(InventoryChangedEvent.deleted(3L));
+
+        assertThat(catalog.findOnSale()).containsExactly(item1, updated);
+        assertThat(catalog.filter(new CatalogFilter(null, null, null, "Furniture", null))).containsExactly(item4);
+
+        catalog.onInventoryChanged(InventoryChangedEvent.cleared());
+        assertThat(catalog.summary().getItemCount()).isZero();
+    }
+
+    /**
+     * Test that the in-memory filter used without the catalog gives the same answer.
+     */
+    @Test
+    void should_match_single_items_like_catalog() {
+        CatalogFilter filter = new CatalogFilter(50.0, 150.0, null, null, null);
+
+        assertThat(List.of(item1, item2, item3, item4).stream().filter(filter::matches).toList())
+                .isEqualTo(catalog.filter(filter));
+    }
+
+    /**
+     * Test that a reload replaces the content with the database, picking up changes made on other nodes.
+     */
+    @Test
+    void should_reload_changes_of_other_nodes() {
+        InventoryRepository repository = mock(InventoryRepository.class);
+        Inventory pen = inventory(5L, new Inventory("Pen", "Blue pen", 1.0, 100, "Office", true));
+        when(repository.findAll()).thenReturn(List.of(item1, item2, pen));
+        ReflectionTestUtils.setField(catalog, "repository", repository);
+
+        catalog.reload();
+
+        assertThat(catalog.findOnSale()).containsExactly(item1, pen);
+        assertThat(catalog.summary().getItemCount()).isEqualTo(3);
+    }
+
+    private Inventory inventory(long id, Inventory inventory) {
+        ReflectionTestUtils.setField(inventory, "id", id);
+        return inventory;
+    }
+}
@@ -0,0 +1,122 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.cache.FallbackCacheManager;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testing that cache operations keep working when Redis fails, and that the circuit breaker
+ * stops calling Redis while it is unhealthy.
+ */
+class FallbackCacheTest {
+
+    private Cache redisCache;
+    private CacheManager redisCacheManager;
+    private RedisCircuitBreaker circuitBreaker;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = mock(Cache.class);
+        when(redisCache.getName()).thenReturn("inventoryItem");
+        redisCacheManager = mock(CacheManager.class);
+        when(redisCacheManager.getCache("inventoryItem")).thenReturn(redisCache);
+
+        circuitBreaker = new RedisCircuitBreaker(2, Duration.ofMinutes(1));
+        cache = new FallbackCacheManager(redisCacheManager, circuitBreaker, new SimpleMeterRegistry(),
+                10, Duration.ofMinutes(1)).getCache("inventoryItem");
+    }
+
+    /**
+     * Test that a Redis error is a cache miss rather than a failed request.
+     */
+    @Test
+    void should_treat_redis_error_as_miss() {
+        when(redisCache.get(1L)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    /**
+     * Test that the breaker opens after repeated failures, and values are then served from the local cache
+     * without calling Redis.
+     */
+    @Test
+    void should_bypass_redis_when_breaker_open() {
+        when(redisCache.get(any())).thenThrow(new RedisConnectionFailureException("down"));
+        cache.get(1L);
+        cache.get(1L);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        cache.put(1L, "item");
+
+        assertThat(cache.get(1L).get()).isEqualTo("item");
+        verify(redisCache, times(2)).get(any());
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    /**
+     * Test that the local cache is dropped once Redis is healthy again, so Redis is the only copy.
+     */
+    @Test
+    void should_clear_local_cache_when_redis_recovers() {
+        when(redisCache.get(any())).thenThrow(new RedisConnectionFailureException("down"));
+        cache.get(1L);
+        cache.get(1L);
+        cache.put(1L, "stale");
+
+        circuitBreaker.recordSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        // Redis fails again: the value stored during the first outage must not come back
+        cache.get(1L);
+        cache.get(1L);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    /**
+     * Test that a failed probe reopens the breaker even when Redis fails with a non-connection error.
+     */
+    @Test
+    void should_reopen_breaker_when_probe_fails_with_serialization_error() {
+        circuitBreaker = new RedisCircuitBreaker(2, Duration.ZERO);
+        cache = new FallbackCacheManager(redisCacheManager, circuitBreaker, new SimpleMeterRegistry(),
+                10, Duration.ofMinutes(1)).getCache("inventoryItem");
+        when(redisCache.get(any())).thenThrow(new SerializationException("bad payload"));
+        cache.get(1L);
+        cache.get(1L);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        // The probe fails as well: the breaker must not stay half-open
+        assertThat(cache.get(1L)).isNull();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.allowRequest()).isTrue();
+    }
+
+    /**
+     * Test that a probe that never reports back does not keep the breaker half-open forever.
+     */
+    @Test
+    void should_allow_new_probe_when_previous_probe_is_lost() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, Duration.ZERO);
+        breaker.recordFailure(new RedisConnectionFailureException("down"));
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.warmup.HotKeySnapshot;
+import example.inventory_management_rest_api.warmup.HotKeyTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing the hot item tracking and the snapshot file used for the cache warm-up.
+ */
+class HotKeySnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Test that the most requested ids come first and only the requested number is kept.
+     */
+    @Test
+    void should_return_most_requested_ids() {
+        HotKeyTracker tracker = new HotKeyTracker();
+        record(tracker, 1L, 2);
+        record(tracker, 2L, 5);
+        record(tracker, 3L, 1);
+        record(tracker, 4L, 3);
+
+        assertThat(tracker.topKeys(3)).containsExactly(2L, 4L, 1L);
+    }
+
+    /**
+     * Test that ids requested only once are forgotten after a decay.
+     */
+    @Test
+    void should_forget_cold_ids_after_decay() {
+        HotKeyTracker tracker = new HotKeyTracker();
+        record(tracker, 1L, 4);
+        record(tracker, 2L, 1);
+
+        tracker.decay();
+
+        assertThat(tracker.topKeys(10)).containsExactly(1L);
+    }
+
+    /**
+     * Test that a written snapshot reads back the same ids.
+     */
+    @Test
+    void should_read_written_snapshot() throws Exception {
+        Path path = dir.resolve("hot-keys.bin");
+        long[] ids = {42L, 7L, Long.MAX_VALUE};
+
+        HotKeySnapshot.write(path, ids);
+
+        assertThat(Files.size(path)).isEqualTo(12 + 3 * 8);
+        assertThat(HotKeySnapshot.read(path)).containsExactly(ids);
+    }
+
+    /**
+     * Test that a missing or corrupt snapshot gives an empty list instead of failing the startup.
+     */
+    @Test
+    void should_ignore_missing_or_corrupt_snapshot() throws Exception {
+        Path path = dir.resolve("hot-keys.bin");
+        assertThat(HotKeySnapshot.read(path)).isEmpty();
+
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        assertThat(HotKeySnapshot.read(path)).isEmpty();
+    }
+
+    private void record(HotKeyTracker tracker, long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(id);
+        }
+    }
+}
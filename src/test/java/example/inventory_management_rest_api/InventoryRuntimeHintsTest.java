@@ -0,0 +1,33 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.config.InventoryRuntimeHints;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import example.inventory_management_rest_api.shard.ShardAwareSequenceGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing that the native-image hints cover the types created by reflection at runtime.
+ */
+class InventoryRuntimeHintsTest {
+
+    /**
+     * Test that Inventory, the id generator and the sharded repository proxy are registered.
+     */
+    @Test
+    void should_register_hints() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new InventoryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Inventory.class.getMethod("getName"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.serialization().onType(Inventory.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ShardAwareSequenceGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(InventoryRepository.class)).accepts(hints);
+    }
+}
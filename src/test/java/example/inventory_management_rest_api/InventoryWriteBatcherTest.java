@@ -0,0 +1,170 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import example.inventory_management_rest_api.service.InventoryWriteBatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testing that concurrent writes are committed together while each caller gets its own result.
+ */
+class InventoryWriteBatcherTest {
+
+    private InventoryRepository repository;
+    private CacheManager cacheManager;
+    private ApplicationEventPublisher eventPublisher;
+    private InventoryWriteBatcher batcher;
+    private ExecutorService clients;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InventoryRepository.class);
+        when(repository.save(any(Inventory.class))).thenAnswer(invocation -> assignId(invocation.getArgument(0)));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Inventory> saved = new ArrayList<>();
+            for (Inventory inventory : invocation.<List<Inventory>>getArgument(0)) {
+                saved.add(assignId(inventory));
+            }
+            return saved;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        cacheManager = new ConcurrentMapCacheManager("inventory", "inventoryItem", "inventoryOnSale");
+
+        batcher = new InventoryWriteBatcher();
+        ReflectionTestUtils.setField(batcher, "repository", repository);
+        ReflectionTestUtils.setField(batcher, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(batcher, "cacheManager", cacheManager);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ReflectionTestUtils.setField(batcher, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 50);
+        ReflectionTestUtils.setField(batcher, "maxDelay", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(batcher, "timeout", Duration.ofSeconds(5));
+        batcher.start();
+
+        clients = Executors.newFixedThreadPool(10);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        clients.shutdownNow();
+        batcher.stop();
+    }
+
+    /**
+     * Test that concurrent writes share a transaction and one change event, and each caller gets its own saved item.
+     */
+    @Test
+    void should_commit_concurrent_writes_together() {
+        List<CompletableFuture<Inventory>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Inventory inventory = new Inventory("Item " + i, "Description", 1.0, i, "Electronics", false);
+            results.add(CompletableFuture.supplyAsync(() -> batcher.submit(inventory), clients));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            Inventory saved = results.get(i).join();
+            assertThat(saved.getName()).isEqualTo("Item " + i);
+            assertThat(saved.getId()).isPositive();
+            assertThat(cacheManager.getCache("inventoryItem").get(saved.getId()).get()).isSameAs(saved);
+        }
+        int batches = mockingDetails(repository).getInvocations().size();
+        verify(repository, atMost(3)).saveAll(anyList());
+        verify(eventPublisher, times(batches)).publishEvent(any(Object.class));
+    }
+
+    /**
+     * Test that when a batch fails, only the caller whose item fails gets the error.
+     */
+    @Test
+    void should_report_errors_to_failing_caller_only() {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("batch failed"));
+        when(repository.save(argThat(inventory -> inventory != null && "Bad".equals(inventory.getName()))))
+                .thenThrow(new IllegalStateException("bad item"));
+
+        CompletableFuture<Inventory> good = CompletableFuture.supplyAsync(() ->
+                batcher.submit(new Inventory("Good", "Description", 1.0, 1, "Electronics", false)), clients);
+        CompletableFuture<Inventory> bad = CompletableFuture.supplyAsync(() ->
+                batcher.submit(new Inventory("Bad", "Description", 1.0, 1, "Electronics", false)), clients);
+
+        assertThat(good.join().getName()).isEqualTo("Good");
+        assertThatThrownBy(bad::join).hasRootCauseMessage("bad item");
+    }
+
+    /**
+     * Test that an unexpected error fails its own batch without stopping the worker.
+     */
+    @Test
+    void should_keep_working_after_a_batch_error() {
+        when(repository.saveAll(anyList()))
+                .thenThrow(new StackOverflowError("boom"))
+                .thenAnswer(invocation -> invocation.<List<Inventory>>getArgument(0).stream().map(this::assignId).toList());
+
+        assertThatThrownBy(() -> batcher.submit(new Inventory("First", "Description", 1.0, 1, "Electronics", false)))
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("boom");
+
+        Inventory saved = batcher.submit(new Inventory("Second", "Description", 1.0, 1, "Electronics", false));
+        assertThat(saved.getName()).isEqualTo("Second");
+        assertThat(saved.getId()).isPositive();
+    }
+
+    /**
+     * Test that a failing change listener does not fail a write that was already committed.
+     */
+    @Test
+    void should_return_saved_item_when_listener_fails() {
+        doThrow(new IllegalStateException("listener failed")).when(eventPublisher).publishEvent(any(Object.class));
+
+        Inventory first = batcher.submit(new Inventory("First", "Description", 1.0, 1, "Electronics", false));
+        Inventory second = batcher.submit(new Inventory("Second", "Description", 1.0, 1, "Electronics", false));
+
+        assertThat(first.getId()).isPositive();
+        assertThat(second.getId()).isPositive();
+    }
+
+    /**
+     * Test that writes are rejected once the batcher has stopped, instead of waiting forever.
+     */
+    @Test
+    void should_reject_writes_after_stop() throws Exception {
+        batcher.stop();
+
+        assertThatThrownBy(() -> batcher.submit(new Inventory("Late", "Description", 1.0, 1, "Electronics", false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Write batcher is not running");
+    }
+
+    private Inventory assignId(Inventory inventory) {
+        if (inventory.getId() == 0) {
+            ReflectionTestUtils.setField(inventory, "id", nextId.getAndIncrement());
+        }
+        return inventory;
+    }
+}
@@ -0,0 +1,115 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import example.inventory_management_rest_api.stock.LowStockAlert;
+import example.inventory_management_rest_api.stock.LowStockAlertSink;
+import example.inventory_management_rest_api.stock.LowStockItem;
+import example.inventory_management_rest_api.stock.LowStockMonitor;
+import example.inventory_management_rest_api.stock.StockAlertProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testing that quantity changes are checked against reorder points and crossings are sent in batches.
+ */
+class LowStockMonitorTest {
+
+    private LowStockMonitor monitor;
+    private List<List<LowStockAlert>> batches;
+
+    @BeforeEach
+    void setUp() {
+        StockAlertProperties properties = new StockAlertProperties();
+        properties.setEnabled(true);
+        properties.setCategoryReorderPoints(Map.of("Furniture", 3));
+        properties.setBatchSize(10);
+
+        batches = new ArrayList<>();
+        monitor = new LowStockMonitor();
+        ReflectionTestUtils.setField(monitor, "properties", properties);
+        LowStockAlertSink sink = batches::add;
+        ReflectionTestUtils.setField(monitor, "sinks", List.of(sink));
+
+        monitor.load(List.of(
+                inventory(1L, "MP3", 10, "Electronics", 5),
+                inventory(2L, "Laptop", 1, "Electronics", 2),
+                inventory(3L, "Desk", 4, "Furniture", null),
+                inventory(4L, "Cable", 0, "Accessories", null)));
+    }
+
+    /**
+     * Test that items below their own or their category's reorder point are listed, furthest below first,
+     * and items without a reorder point are ignored.
+     */
+    @Test
+    void should_list_items_below_reorder_point() {
+        monitor.onInventoryChanged(InventoryChangedEvent.saved(inventory(3L, "Desk", 0, "Furniture", null)));
+
+        assertThat(monitor.findBelowReorderPoint()).extracting(LowStockItem::getId).containsExactly(3L, 2L);
+    }
+
+    /**
+     * Test that crossing the reorder point in either direction raises one alert, and alerts are sent
+     * together at the next flush.
+     */
+    @Test
+    void should_send_crossings_in_batches() {
+        monitor.onInventoryChanged(InventoryChangedEvent.saved(inventory(1L, "MP3", 4, "Electronics", 5)));
+        monitor.onInventoryChanged(InventoryChangedEvent.saved(inventory(1L, "MP3", 3, "Electronics", 5)));
+        monitor.onInventoryChanged(InventoryChangedEvent.saved(inventory(2L, "Laptop", 8, "Electronics", 2)));
+        assertThat(batches).isEmpty();
+
+        monitor.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(LowStockAlert::getType).containsExactly(
+                LowStockAlert.Type.BELOW_REORDER_POINT, LowStockAlert.Type.RESTOCKED);
+        assertThat(monitor.findRecentAlerts()).extracting(alert -> alert.getItem().getId()).containsExactly(2L, 1L);
+    }
+
+    /**
+     * Test that deleted items are no longer listed.
+     */
+    @Test
+    void should_forget_deleted_items() {
+        monitor.onInventoryChanged(InventoryChangedEvent.deleted(2L));
+
+        assertThat(monitor.findBelowReorderPoint()).isEmpty();
+    }
+
+    /**
+     * Test that a reload picks up changes made on other nodes without alerting for them.
+     */
+    @Test
+    void should_reload_changes_of_other_nodes_without_alerting() {
+        InventoryRepository repository = mock(InventoryRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                inventory(1L, "MP3", 2, "Electronics", 5),
+                inventory(3L, "Desk", 4, "Furniture", null)));
+        ReflectionTestUtils.setField(monitor, "repository", repository);
+
+        monitor.reload();
+        monitor.flush();
+
+        assertThat(monitor.findBelowReorderPoint()).extracting(LowStockItem::getId).containsExactly(1L);
+        assertThat(batches).isEmpty();
+    }
+
+    private Inventory inventory(long id, String name, int quantity, String category, Integer reorderPoint) {
+        Inventory inventory = new Inventory(name, name, 10.0, quantity, category, false);
+        inventory.setReorderPoint(reorderPoint);
+        ReflectionTestUtils.setField(inventory, "id", id);
+        return inventory;
+    }
+}
@@ -0,0 +1,78 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.cache.ReactiveCacheEvictor;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testing that changes made on the servlet stack evict the reactive variant's cache entries.
+ */
+class ReactiveCacheEvictorTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RedisCircuitBreaker circuitBreaker;
+    private ReactiveCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        circuitBreaker = new RedisCircuitBreaker(1, Duration.ofMinutes(1));
+
+        evictor = new ReactiveCacheEvictor();
+        ReflectionTestUtils.setField(evictor, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(evictor, "circuitBreaker", circuitBreaker);
+    }
+
+    /**
+     * Test that a deleted item's reactive entry and the reactive list entries are removed.
+     */
+    @Test
+    void should_evict_reactive_item_and_lists() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            String pattern = invocation.<ScanOptions>getArgument(0).getPattern();
+            return cursor(pattern.equals("reactive:inventory::*") ? List.of("reactive:inventory::all") : List.of());
+        });
+
+        evictor.onInventoryChanged(InventoryChangedEvent.deleted(7L));
+
+        verify(redisTemplate).delete(List.of("reactive:inventoryItem::7"));
+        verify(redisTemplate).delete(List.of("reactive:inventory::all"));
+    }
+
+    /**
+     * Test that a Redis failure does not fail the change and is counted by the circuit breaker.
+     */
+    @Test
+    void should_ignore_redis_failure() {
+        when(redisTemplate.delete(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        evictor.onInventoryChanged(InventoryChangedEvent.deleted(7L));
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
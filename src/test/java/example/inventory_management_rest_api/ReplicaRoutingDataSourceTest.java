@@ -0,0 +1,154 @@
+package example.inventory_management_rest_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import example.inventory_management_rest_api.datasource.ReadYourWritesFilter;
+import example.inventory_management_rest_api.datasource.ReplicaRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing read/write routing with three in-memory H2 databases standing in for the primary and two replicas.
+ * Each database has a one-row table naming the node, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary, replica1, replica2;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica1 = node("replica1");
+        replica2 = node("replica2");
+    }
+
+    /**
+     * Test that read-only transactions are spread over the replicas in turn.
+     */
+    @Test
+    void should_round_robin_read_only_transactions_over_replicas() {
+        DataSource dataSource = routing();
+
+        assertThat(List.of(readOnly(dataSource), readOnly(dataSource), readOnly(dataSource)))
+                .containsExactly("replica1", "replica2", "replica1");
+    }
+
+    /**
+     * Test that read-write transactions and non-transactional calls go to the primary.
+     */
+    @Test
+    void should_send_writes_to_primary() {
+        DataSource dataSource = routing();
+
+        assertThat(readWrite(dataSource)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select name from node", String.class))
+                .isEqualTo("primary");
+    }
+
+    /**
+     * Test that a client's reads right after its own write stay on the primary while the replicas may lag behind.
+     */
+    @Test
+    void should_pin_reads_to_primary_after_write() throws Exception {
+        DataSource dataSource = routing();
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/inventory"), writeResponse,
+                (request, response) -> readWrite(dataSource));
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertThat(lastWrite).isNotNull();
+
+        MockHttpServletRequest readRequest = new MockHttpServletRequest("GET", "/api/inventory");
+        readRequest.setCookies(lastWrite);
+        assertThat(readThrough(filter, readRequest, dataSource)).isEqualTo("primary");
+    }
+
+    /**
+     * Test that one client's write does not pin the reads of other clients to the primary.
+     */
+    @Test
+    void should_not_pin_reads_of_other_clients() throws Exception {
+        DataSource dataSource = routing();
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/inventory"), new MockHttpServletResponse(),
+                (request, response) -> readWrite(dataSource));
+
+        assertThat(readThrough(filter, new MockHttpServletRequest("GET", "/api/inventory"), dataSource))
+                .isEqualTo("replica1");
+        assertThat(readOnly(dataSource)).isEqualTo("replica2");
+    }
+
+    /**
+     * Test that closing the routing DataSource closes the primary and replica pools.
+     */
+    @Test
+    void should_close_pools() {
+        HikariDataSource primaryPool = pool("primary");
+        HikariDataSource replicaPool = pool("replica1");
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryPool, List.of(replicaPool));
+        routingDataSource.afterPropertiesSet();
+
+        routingDataSource.close();
+
+        assertThat(primaryPool.isClosed()).isTrue();
+        assertThat(replicaPool.isClosed()).isTrue();
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return pool;
+    }
+
+    private String readThrough(ReadYourWritesFilter filter, MockHttpServletRequest request, DataSource dataSource)
+            throws Exception {
+        AtomicReference<String> node = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> node.set(readOnly(dataSource)));
+        return node.get();
+    }
+
+    private DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private DataSource routing() {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private String readOnly(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+
+    private String readWrite(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+}
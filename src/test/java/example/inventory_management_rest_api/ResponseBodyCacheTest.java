@@ -0,0 +1,94 @@
+package example.inventory_management_rest_api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import example.inventory_management_rest_api.cache.ResponseBodyCache;
+import example.inventory_management_rest_api.event.InventoryChangedEvent;
+import example.inventory_management_rest_api.model.Inventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing format negotiation and reuse of serialized list responses.
+ */
+class ResponseBodyCacheTest {
+
+    private ResponseBodyCache responseCache;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Inventory> inventories = List.of(
+            new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true),
+            new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", false));
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseBodyCache();
+        ReflectionTestUtils.setField(responseCache, "cacheManager", new ConcurrentMapCacheManager());
+        ReflectionTestUtils.setField(responseCache, "objectMapper", new ObjectMapper());
+        responseCache.init();
+    }
+
+    /**
+     * Test that the Accept header picks the format, by quality, with JSON as the default.
+     */
+    @Test
+    void should_negotiate_format() {
+        assertThat(responseCache.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(responseCache.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(responseCache.negotiate("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(ResponseBodyCache.APPLICATION_SMILE);
+        assertThat(responseCache.negotiate("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(responseCache.negotiate("text/html")).isNull();
+    }
+
+    /**
+     * Test that a cached response is served from its bytes, and evicted when the inventory changes.
+     */
+    @Test
+    void should_reuse_serialized_response_until_inventory_changes() throws Exception {
+        ResponseEntity<byte[]> first = responseCache.getOrLoad("all", "application/x-jackson-smile", this::load);
+        ResponseEntity<byte[]> second = responseCache.getOrLoad("all", "application/x-jackson-smile", this::load);
+
+        assertThat(first.getHeaders().getContentType()).isEqualTo(ResponseBodyCache.APPLICATION_SMILE);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(loads).hasValue(1);
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(second.getBody()).get(1).get("name").asText())
+                .isEqualTo("Desk");
+
+        // Each format is cached on its own
+        ResponseEntity<byte[]> json = responseCache.getOrLoad("all", "application/json", this::load);
+        assertThat(new String(json.getBody())).contains("\"name\":\"MP3\"");
+        assertThat(loads).hasValue(2);
+
+        responseCache.onInventoryChanged(InventoryChangedEvent.cleared());
+        responseCache.getOrLoad("all", "application/x-jackson-smile", this::load);
+        responseCache.getOrLoad("all", "application/json", this::load);
+        assertThat(loads).hasValue(4);
+    }
+
+    /**
+     * Test that empty lists give no content and unsupported formats are not acceptable.
+     */
+    @Test
+    void should_return_no_content_and_not_acceptable() {
+        assertThat(responseCache.load("application/json", List::of).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(responseCache.getOrLoad("all", "text/html", this::load).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+        assertThat(loads).hasValue(0);
+    }
+
+    private List<Inventory> load() {
+        loads.incrementAndGet();
+        return inventories;
+    }
+}
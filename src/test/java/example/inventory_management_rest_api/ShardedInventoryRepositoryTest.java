@@ -0,0 +1,171 @@
+package example.inventory_management_rest_api;
+
+import example.inventory_management_rest_api.model.Inventory;
+import example.inventory_management_rest_api.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testing that items are placed on the shard of their category and read back from all shards.
+ */
+@SpringBootTest(properties = {
+        "inventory.sharding.enabled=true",
+        "inventory.sharding.urls=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "inventory.sharding.username=sa",
+        "inventory.sharding.password=",
+        "inventory.sharding.category-shards.Electronics=1",
+        "inventory.sharding.category-shards.Furniture=2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DirtiesContext
+class ShardedInventoryRepositoryTest {
+
+    @Autowired
+    InventoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    /**
+     * Test that each item is stored on the shard of its category, and its id identifies that shard.
+     */
+    @Test
+    void should_place_items_by_category() {
+        Inventory mp3 = repository.save(new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true));
+        Inventory desk = repository.save(new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", false));
+        Inventory pen = repository.save(new Inventory("Pen", "Blue pen", 1.0, 100, null, true));
+
+        assertThat(rowsOnShard(1)).containsExactly(mp3.getId());
+        assertThat(rowsOnShard(2)).containsExactly(desk.getId());
+        assertThat(rowsOnShard(0)).containsExactly(pen.getId());
+        assertThat(mp3.getId() % 3).isEqualTo(1);
+        assertThat(desk.getId() % 3).isEqualTo(2);
+        assertThat(pen.getId() % 3).isZero();
+    }
+
+    /**
+     * Test that reads merge the results of all shards and reads by id go to the right shard.
+     */
+    @Test
+    void should_read_across_shards() {
+        List<Inventory> saved = repository.saveAll(List.of(
+                new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true),
+                new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", true),
+                new Inventory("Laptop", "Portable computer", 100.0, 5, "Electronics", false),
+                new Inventory("Pen", "Blue pen", 1.0, 100, "Office", false)));
+
+        assertThat(saved).extracting(Inventory::getName).containsExactly("MP3", "Desk", "Laptop", "Pen");
+        assertThat(repository.findAll()).hasSize(4);
+        assertThat(repository.count()).isEqualTo(4);
+        assertThat(repository.findByOnSale(true)).extracting(Inventory::getName).containsExactlyInAnyOrder("MP3", "Desk");
+        assertThat(repository.findByNameContaining("e")).extracting(Inventory::getName)
+                .containsExactlyInAnyOrder("Desk", "Pen");
+
+        for (Inventory inventory : saved) {
+            assertThat(repository.findById(inventory.getId())).get()
+                    .extracting(Inventory::getName).isEqualTo(inventory.getName());
+        }
+
+        repository.deleteById(saved.get(1).getId());
+        assertThat(repository.findById(saved.get(1).getId())).isEmpty();
+        assertThat(rowsOnShard(2)).doesNotContain(saved.get(1).getId());
+    }
+
+    /**
+     * Test that a reference by id can be read after the shard's transaction, and a missing id fails as it does unsharded.
+     */
+    @Test
+    void should_load_references_by_id() {
+        Inventory mp3 = repository.save(new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true));
+
+        assertThat(repository.getReferenceById(mp3.getId()).getName()).isEqualTo("MP3");
+        assertThatThrownBy(() -> repository.getReferenceById(mp3.getId() + 3))
+                .isInstanceOf(JpaObjectRetrievalFailureException.class);
+    }
+
+    /**
+     * Test that ids stay unique although each shard has its own sequence.
+     */
+    @Test
+    void should_generate_unique_ids_across_shards() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            String category = i % 2 == 0 ? "Electronics" : "Furniture";
+            ids.add(repository.save(new Inventory("Item " + i, "Description", 1.0, i, category, false)).getId());
+        }
+
+        assertThat(ids).hasSize(60);
+    }
+
+    /**
+     * Test that sorted and paged reads are merged across shards in the requested order.
+     */
+    @Test
+    void should_sort_and_page_across_shards() {
+        repository.saveAll(List.of(
+                new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true),
+                new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", true),
+                new Inventory("Laptop", "Portable computer", 100.0, 5, "Electronics", false),
+                new Inventory("Pen", "Blue pen", 1.0, 100, null, false)));
+
+        assertThat(repository.findAll(Sort.by("unitPrice"))).extracting(Inventory::getName)
+                .containsExactly("Pen", "MP3", "Laptop", "Desk");
+
+        Page<Inventory> page = repository.findAll(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "unitPrice")));
+        assertThat(page.getContent()).extracting(Inventory::getName).containsExactly("MP3", "Pen");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    /**
+     * Test that calls taking several ids, items or an example reach every shard involved.
+     */
+    @Test
+    void should_split_multi_item_calls_by_shard() {
+        List<Inventory> saved = repository.saveAll(List.of(
+                new Inventory("MP3", "Music player", 5.25, 10, "Electronics", true),
+                new Inventory("Desk", "Standing desk", 250.0, 2, "Furniture", true),
+                new Inventory("Pen", "Blue pen", 1.0, 100, null, false)));
+        List<Long> ids = saved.stream().map(Inventory::getId).toList();
+
+        assertThat(repository.findAllById(ids)).extracting(Inventory::getId).containsExactlyInAnyOrderElementsOf(ids);
+        Example<Inventory> onSale = Example.of(new Inventory(null, null, null, 0, null, true),
+                ExampleMatcher.matching().withIgnorePaths("id", "quantity"));
+        assertThat(repository.count(onSale)).isEqualTo(2);
+        assertThat(repository.exists(onSale)).isTrue();
+        assertThat(repository.findAll(onSale, Sort.by("name"))).extracting(Inventory::getName)
+                .containsExactly("Desk", "MP3");
+        repository.flush();
+
+        repository.deleteAllById(ids.subList(0, 2));
+        assertThat(repository.findAll()).extracting(Inventory::getName).containsExactly("Pen");
+
+        repository.deleteAll(repository.findAll());
+        assertThat(repository.count()).isZero();
+    }
+
+    private List<Long> rowsOnShard(int shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:shard" + shard + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        return jdbcTemplate.queryForList("select id from inventory", Long.class);
+    }
+}
@@ -0,0 +1,174 @@
+package example.inventory_management_rest_api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.inventory_management_rest_api.cache.RedisCircuitBreaker;
+import example.inventory_management_rest_api.ratelimit.RateLimitDecision;
+import example.inventory_management_rest_api.ratelimit.RateLimitFilter;
+import example.inventory_management_rest_api.ratelimit.RateLimitProperties;
+import example.inventory_management_rest_api.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testing token buckets with local leases, fail-open on Redis errors and the 429 response of the filter.
+ * Redis is replaced by a bucket that does not refill.
+ */
+class TokenBucketRateLimiterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RedisCircuitBreaker circuitBreaker;
+    private RateLimitProperties properties;
+    private final AtomicLong bucket = new AtomicLong();
+    private final AtomicInteger redisCalls = new AtomicInteger();
+    private final List<Object> bucketKeys = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        circuitBreaker = new RedisCircuitBreaker(3, Duration.ofMinutes(1));
+        properties = new RateLimitProperties();
+        properties.setCapacity(100);
+        properties.setLeaseSize(10);
+        properties.setLeaseTtl(Duration.ofMinutes(1));
+        bucket.set(100);
+
+        // Same result as scripts/token-bucket.lua: {allowed, granted, tokens left, retry after ms}
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            redisCalls.incrementAndGet();
+            bucketKeys.addAll(invocation.getArgument(1));
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            long cost = Long.parseLong((String) args[2]);
+            long lease = Long.parseLong((String) args[3]);
+
+            long tokens = bucket.get();
+            if (tokens < cost) {
+                return List.of(0L, 0L, tokens, 500L);
+            }
+            long granted = Math.min(tokens, cost + lease);
+            bucket.set(tokens - granted);
+            return List.of(1L, granted, tokens - granted, 0L);
+        });
+    }
+
+    /**
+     * Test that leased tokens are spent locally, so only one request in eleven reaches Redis.
+     */
+    @Test
+    void should_spend_leased_tokens_locally() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(redisTemplate, circuitBreaker, properties);
+
+        for (int i = 0; i < 22; i++) {
+            assertThat(limiter.tryAcquire("client-a", 1).isAllowed()).isTrue();
+        }
+
+        assertThat(redisCalls).hasValue(2);
+        assertThat(limiter.tryAcquire("client-a", 1).getRemaining()).isEqualTo(77);
+    }
+
+    /**
+     * Test that a client out of tokens is rejected with a retry time, while other clients are not affected.
+     */
+    @Test
+    void should_reject_client_over_limit() {
+        properties.setLeaseSize(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(redisTemplate, circuitBreaker, properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("client-a", 10).isAllowed()).isTrue();
+        }
+        RateLimitDecision decision = limiter.tryAcquire("client-a", 10);
+
+        assertThat(decision.isAllowed()).isFalse();
+        assertThat(decision.getRemaining()).isZero();
+        assertThat(decision.getRetryAfterMillis()).isEqualTo(500);
+    }
+
+    /**
+     * Test that requests are let through while Redis fails, and Redis is skipped once the breaker opens.
+     */
+    @Test
+    void should_fail_open_when_redis_fails() {
+        reset(redisTemplate);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"));
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(redisTemplate, circuitBreaker, properties);
+
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = limiter.tryAcquire("client-a", 1);
+            assertThat(decision.isAllowed()).isTrue();
+            assertThat(decision.getRemaining()).isEqualTo(-1);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    /**
+     * Test that the filter charges name searches the search cost and answers 429 with rate limit headers.
+     */
+    @Test
+    void should_respond_429_to_expensive_searches() throws Exception {
+        properties.setLeaseSize(0);
+        properties.setCapacity(20);
+        bucket.set(20);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(redisTemplate, circuitBreaker, properties);
+        RateLimitFilter filter = new RateLimitFilter(limiter, properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        MockHttpServletResponse response = null;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+            request.setParameter("name", "search" + i);
+            request.addHeader("X-Client-Id", "client-a");
+            response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+        }
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("20");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("\"statusCode\":429", "uri=/api/inventory");
+    }
+
+    /**
+     * Test that a client cannot get fresh buckets by sending a new client header with every request,
+     * while a header from a trusted gateway does identify the client.
+     */
+    @Test
+    void should_not_trust_client_header_by_default() throws Exception {
+        properties.setLeaseSize(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(redisTemplate, circuitBreaker, properties);
+        RateLimitFilter filter = new RateLimitFilter(limiter, properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+            request.addHeader("X-Client-Id", "rotated-" + i);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        assertThat(bucketKeys).hasSize(3).containsOnly(bucketKeys.get(0));
+
+        properties.setClientHeader("X-Client-Id");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+        request.addHeader("X-Client-Id", "client-a");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(bucketKeys.get(3)).isNotEqualTo(bucketKeys.get(0));
+    }
+}